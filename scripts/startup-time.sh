@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# 프로세스를 띄운 시점부터 /health_check.html 이 처음 200 을 돌려줄 때까지의 시간을 잽니다.
+# 기본 실행(실행 가능한 jar, ddl-auto=create)과 fast-startup 실행(AOT, AppCDS, 스키마 검증, 지연 초기화)을 번갈아 비교합니다.
+#
+#   ./mvnw -Pfast-startup package -DskipTests
+#   scripts/startup-time.sh [반복 횟수]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+cd "$(dirname "$0")/.."
+
+EXEC_JAR=target/demo-0.0.1-SNAPSHOT-exec.jar
+CLASSPATH_FILE=target/classpath.txt
+CDS_ARCHIVE=target/demo.jsa
+LOG=target/startup-time.log
+# 두 실행이 같은 DB 를 쓰게 한다. 기본 실행이 스키마를 만들고, fast-startup 실행은 그 스키마를 검증만 한다.
+APP_ARGS=(
+  "--server.port=$PORT"
+  "--spring.datasource.url=jdbc:h2:file:./target/startup-db/demo;DB_CLOSE_ON_EXIT=FALSE"
+)
+
+if [[ ! -f $EXEC_JAR || ! -f $CLASSPATH_FILE ]]; then
+  echo "먼저 ./mvnw -Pfast-startup package -DskipTests 로 빌드하세요." >&2
+  exit 1
+fi
+FAST_STARTUP=(
+  -Dspring.aot.enabled=true
+  -cp "target/demo-0.0.1-SNAPSHOT.jar:$(cat "$CLASSPATH_FILE")"
+  com.example.demo.DemoApplication
+  --spring.profiles.active=fast-startup
+)
+
+# 인자로 받은 명령을 띄우고 첫 성공 응답까지 걸린 밀리초를 출력한 뒤 정상 종료시킨다.
+time_to_first_request() {
+  local started pid
+  started=$(date +%s%N)
+  java "$@" >"$LOG" 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "http://localhost:$PORT/health_check.html"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "애플리케이션이 시작하지 못했습니다. $LOG 를 보세요." >&2
+      kill -TERM $$
+      exit 1
+    fi
+    sleep 0.01
+  done
+  echo $(( ($(date +%s%N) - started) / 1000000 ))
+  kill -TERM "$pid"
+  wait "$pid" || true
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# CDS 아카이브는 만든 JDK 에서만 쓸 수 있으므로, 잰 결과와 함께 어느 JDK 로 쟀는지 남긴다.
+java -version 2>&1 | head -n 1
+rm -rf target/startup-db "$CDS_ARCHIVE"
+echo "스키마 생성: $(time_to_first_request -jar "$EXEC_JAR" "${APP_ARGS[@]}") ms"
+echo "CDS 학습 실행: $(time_to_first_request -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" "${FAST_STARTUP[@]}" "${APP_ARGS[@]}") ms"
+
+default_times=()
+fast_times=()
+for ((i = 1; i <= RUNS; i++)); do
+  default_times+=("$(time_to_first_request -jar "$EXEC_JAR" "${APP_ARGS[@]}")")
+  fast_times+=("$(time_to_first_request -XX:SharedArchiveFile="$CDS_ARCHIVE" "${FAST_STARTUP[@]}" "${APP_ARGS[@]}")")
+  echo "$i: default ${default_times[-1]} ms, fast-startup ${fast_times[-1]} ms"
+done
+
+echo "중앙값: default $(printf '%s\n' "${default_times[@]}" | median) ms, fast-startup $(printf '%s\n' "${fast_times[@]}" | median) ms"
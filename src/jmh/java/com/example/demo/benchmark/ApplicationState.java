@@ -0,0 +1,73 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.dto.PostCreateDto;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.example.demo.service.PostService;
+import com.example.demo.service.UserService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 포크마다 한 번 embedded H2 위에 애플리케이션 컨텍스트를 띄우고, 활성 유저 한 명과 게시물 하나를 준비합니다.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    public ConfigurableApplicationContext context;
+    public UserEntity activeUser;
+    public PostEntity post;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DemoApplication.class, StubMailSenderConfiguration.class)
+            .web(WebApplicationType.NONE)
+            // properties() 로 주면 기본값이 되어 application.properties 에 덮이므로, 명령행 인자로 준다.
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--app.scheduling.enabled=false",
+                "--logging.level.root=WARN");
+        try {
+            prepareFixtures();
+        } catch (RuntimeException e) {
+            // @TearDown 은 @Setup 이 실패하면 호출되지 않으므로, 여기서 닫아야 포크된 JVM 이 바로 종료된다.
+            context.close();
+            throw e;
+        }
+    }
+
+    private void prepareFixtures() {
+        UserService userService = context.getBean(UserService.class);
+        PendingUserEntity pendingUser = userService.createUser(UserCreateDto.builder()
+            .email("benchmark@example.com")
+            .nickname("benchmark")
+            .address("Seoul")
+            .build());
+        userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+        userService.login(pendingUser.getId());
+        activeUser = userService.getByIdOrElseThrow(pendingUser.getId());
+        post = context.getBean(PostService.class).createPost(PostCreateDto.builder()
+            .writerId(activeUser.getId())
+            .content("benchmark content ".repeat(10))
+            .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
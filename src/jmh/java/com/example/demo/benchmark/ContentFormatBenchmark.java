@@ -0,0 +1,132 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.PostController;
+import com.example.demo.controller.UserController;
+import com.example.demo.model.dto.MyProfileResponse;
+import com.example.demo.model.dto.PostPageResponse;
+import com.example.demo.model.dto.PostResponse;
+import com.example.demo.model.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 응답 DTO 를 JSON, CBOR, Smile 로 직렬화, 역직렬화하는 시간을 잽니다. 애플리케이션의 메시지 컨버터가 쓰는 ObjectMapper 를 그대로 씁니다.
+ * 형식별 크기와 gzip 후 크기는 setup 에서 출력합니다. 게시물 20개짜리 페이지는 gzip 이 적용되는 큰 본문의 예입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private PostResponse postResponse;
+    private UserResponse userResponse;
+    private MyProfileResponse myProfileResponse;
+    private PostPageResponse postPageResponse;
+    private byte[] encodedPostResponse;
+    private byte[] encodedUserResponse;
+    private byte[] encodedMyProfileResponse;
+    private byte[] encodedPostPageResponse;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState state) throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> state.getBean(ObjectMapper.class);
+            case "cbor" -> state.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> state.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> throw new IllegalArgumentException(format);
+        };
+        PostController postController = state.getBean(PostController.class);
+        UserController userController = state.getBean(UserController.class);
+        postResponse = postController.toResponse(state.post);
+        userResponse = userController.toResponse(state.activeUser);
+        myProfileResponse = userController.toMyProfileResponse(state.activeUser);
+        postPageResponse = new PostPageResponse();
+        postPageResponse.setPosts(Collections.nCopies(20, postResponse));
+        postPageResponse.setNextCursor("MTcwMDAwMDAwMDAwMDoxMjM0NQ");
+
+        encodedPostResponse = objectMapper.writeValueAsBytes(postResponse);
+        encodedUserResponse = objectMapper.writeValueAsBytes(userResponse);
+        encodedMyProfileResponse = objectMapper.writeValueAsBytes(myProfileResponse);
+        encodedPostPageResponse = objectMapper.writeValueAsBytes(postPageResponse);
+        System.out.printf("%n%s: PostResponse %d bytes (gzip %d), UserResponse %d bytes (gzip %d),"
+                + " MyProfileResponse %d bytes (gzip %d), PostPageResponse(20) %d bytes (gzip %d)%n",
+            format,
+            encodedPostResponse.length, gzip(encodedPostResponse).length,
+            encodedUserResponse.length, gzip(encodedUserResponse).length,
+            encodedMyProfileResponse.length, gzip(encodedMyProfileResponse).length,
+            encodedPostPageResponse.length, gzip(encodedPostPageResponse).length);
+    }
+
+    @Benchmark
+    public byte[] encodePostResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(postResponse);
+    }
+
+    @Benchmark
+    public PostResponse decodePostResponse() throws IOException {
+        return objectMapper.readValue(encodedPostResponse, PostResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeUserResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(userResponse);
+    }
+
+    @Benchmark
+    public UserResponse decodeUserResponse() throws IOException {
+        return objectMapper.readValue(encodedUserResponse, UserResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeMyProfileResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(myProfileResponse);
+    }
+
+    @Benchmark
+    public MyProfileResponse decodeMyProfileResponse() throws IOException {
+        return objectMapper.readValue(encodedMyProfileResponse, MyProfileResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodePostPageResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(postPageResponse);
+    }
+
+    @Benchmark
+    public PostPageResponse decodePostPageResponse() throws IOException {
+        return objectMapper.readValue(encodedPostPageResponse, PostPageResponse.class);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
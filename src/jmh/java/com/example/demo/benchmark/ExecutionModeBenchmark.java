@@ -0,0 +1,89 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 같은 커넥션 풀 크기에서 플랫폼 스레드 모드와 가상 스레드 모드의 회원가입 처리량을 HTTP 로 비교합니다.
+ * 동시 요청 수를 Tomcat 플랫폼 스레드 수보다 많게 잡아, 스레드가 먼저 바닥나는 상황을 재현합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(256)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int PLATFORM_THREADS = 50;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI signupUri;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DemoApplication.class, StubMailSenderConfiguration.class)
+            .web(WebApplicationType.SERVLET)
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:execution-mode;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "--app.threads.virtual.enabled=" + mode.equals("virtual"),
+                "--admission.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--app.scheduling.enabled=false",
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        signupUri = URI.create("http://localhost:" + port + "/api/users");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int signup() throws IOException, InterruptedException {
+        String body = String.format(
+            "{\"email\":\"user%d@example.com\",\"nickname\":\"benchmark\",\"address\":\"Seoul\"}",
+            sequence.incrementAndGet());
+        HttpRequest request = HttpRequest.newBuilder(signupUri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.PostController;
+import com.example.demo.controller.UserController;
+import com.example.demo.model.dto.MyProfileResponse;
+import com.example.demo.model.dto.PostResponse;
+import com.example.demo.model.dto.UserResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private UserController userController;
+    private PostController postController;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState state) {
+        userController = state.getBean(UserController.class);
+        postController = state.getBean(PostController.class);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse(ApplicationState state) {
+        return userController.toResponse(state.activeUser);
+    }
+
+    @Benchmark
+    public MyProfileResponse userToMyProfileResponse(ApplicationState state) {
+        return userController.toMyProfileResponse(state.activeUser);
+    }
+
+    @Benchmark
+    public PostResponse postToResponse(ApplicationState state) {
+        return postController.toResponse(state.post);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.UserStatus;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.UserEntity;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserService;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 인증하지 않은 가입 신청이 쌓일 때 ACTIVE 유저를 email 로 찾는 시간을 잽니다. 유저 캐시를 거치지 않고 리포지토리를 직접 부릅니다.
+ * store=users 는 예전처럼 PENDING 행을 users 에 넣은 경우이고, store=pending_users 는 가입 신청 테이블에 넣은 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PendingSignupBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+    // 시퀀스가 나눠 주는 id 와 겹치지 않는 범위.
+    private static final long FIRST_PENDING_ID = 1_000_000_000L;
+
+    @Param({"users", "pending_users"})
+    public String store;
+
+    @Param({"0", "10000", "100000"})
+    public int pendingRows;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserEntity activeUser;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DemoApplication.class, StubMailSenderConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:pending-signup;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--app.scheduling.enabled=false",
+                "--logging.level.root=WARN");
+        try {
+            UserService userService = context.getBean(UserService.class);
+            PendingUserEntity pendingUser = userService.createUser(UserCreateDto.builder()
+                .email("benchmark@example.com")
+                .nickname("benchmark")
+                .address("Seoul")
+                .build());
+            userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+            insertPendingRows(context.getBean(JdbcTemplate.class));
+            userRepository = context.getBean(UserRepository.class);
+            activeUser = userRepository.findByEmailAndStatus("benchmark@example.com", UserStatus.ACTIVE).orElseThrow();
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+    }
+
+    private void insertPendingRows(JdbcTemplate jdbcTemplate) {
+        String sql = store.equals("users")
+            ? "insert into users (id, email, nickname, address, certification_code, status, version) values (?, ?, ?, ?, ?, 'PENDING', 0)"
+            : "insert into pending_users (id, email, nickname, address, certification_code, created_at, expires_at) values (?, ?, ?, ?, ?, ?, ?)";
+        long now = Clock.systemUTC().millis();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < pendingRows; i++) {
+            long id = FIRST_PENDING_ID + i;
+            String email = "pending" + i + "@example.com";
+            String certificationCode = UUID.randomUUID().toString();
+            batch.add(store.equals("users")
+                ? new Object[]{id, email, "pending", "Seoul", certificationCode}
+                : new Object[]{id, email, "pending", "Seoul", certificationCode, now, now + TimeUnit.DAYS.toMillis(1)});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<UserEntity> findActiveByEmail() {
+        return userRepository.findByEmailAndStatus(activeUser.getEmail(), UserStatus.ACTIVE);
+    }
+}
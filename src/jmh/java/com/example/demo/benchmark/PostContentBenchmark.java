@@ -0,0 +1,165 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.PostSummary;
+import com.example.demo.model.dto.PostCreateDto;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.CompressedTextConverter;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.service.PostService;
+import com.example.demo.service.UserService;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 합성 말뭉치로 게시물 본문을 LZ4 로 저장했을 때의 크기와, 본문까지 읽는 조회와 요약만 읽는 조회의 시간을 잽니다.
+ * 본문 길이는 대부분 짧고 일부만 긴 로그 정규 분포를 따르고, 단어는 한글 음절로 만든 어휘에서 대략 1/rank 빈도로 고릅니다.
+ * 시작할 때 UTF-8 그대로의 크기와 저장된 크기를 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostContentBenchmark {
+
+    private static final int VOCABULARY = 5_000;
+    private static final int MEDIAN_WORDS = 60;
+    private static final int MAX_WORDS = 3_000;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    @Param({"20000"})
+    public int posts;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private long[] postIds;
+    private byte[][] storedContents;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DemoApplication.class, StubMailSenderConfiguration.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:post-content;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--app.scheduling.enabled=false",
+                "--logging.level.root=WARN");
+        try {
+            postService = context.getBean(PostService.class);
+            long rawBytes = insertCorpus(context.getBean(UserService.class));
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long storedBytes = jdbcTemplate.queryForObject("select sum(octet_length(content)) from posts", Long.class);
+            storedContents = jdbcTemplate.queryForList("select content from posts", byte[].class).toArray(byte[][]::new);
+            System.out.printf("%n게시물 %d건, UTF-8 %d bytes, 저장 %d bytes (%.1f%%)%n",
+                posts, rawBytes, storedBytes, 100.0 * storedBytes / rawBytes);
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+    }
+
+    private long insertCorpus(UserService userService) {
+        PendingUserEntity pendingUser = userService.createUser(UserCreateDto.builder()
+            .email("benchmark@example.com")
+            .nickname("benchmark")
+            .address("Seoul")
+            .build());
+        userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+
+        SplittableRandom random = new SplittableRandom(42);
+        String[] words = vocabulary(random);
+        postIds = new long[posts];
+        long rawBytes = 0;
+        List<PostCreateDto> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < posts; i++) {
+            String content = content(random, words);
+            rawBytes += content.getBytes(StandardCharsets.UTF_8).length;
+            batch.add(PostCreateDto.builder().writerId(pendingUser.getId()).content(content).build());
+            if (batch.size() == INSERT_BATCH_SIZE || i == posts - 1) {
+                int offset = i + 1 - batch.size();
+                postService.createPosts(offset, batch)
+                    .forEach(result -> postIds[result.getIndex()] = result.getId());
+                batch.clear();
+            }
+        }
+        return rawBytes;
+    }
+
+    private static String[] vocabulary(SplittableRandom random) {
+        String[] words = new String[VOCABULARY];
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < VOCABULARY; i++) {
+            word.setLength(0);
+            int syllables = 1 + random.nextInt(4);
+            for (int s = 0; s < syllables; s++) {
+                // 자주 쓰는 음절이 몰려 있도록 한글 음절 블록의 앞쪽 일부에서만 고른다.
+                word.append((char) ('가' + random.nextInt(2_000)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String content(SplittableRandom random, String[] words) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        int length = (int) Math.min(MAX_WORDS, Math.max(1, MEDIAN_WORDS * Math.exp(gaussian)));
+        StringBuilder content = new StringBuilder(length * 4);
+        for (int i = 0; i < length; i++) {
+            int rank = (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+            content.append(words[rank]).append(i % 12 == 11 ? ". " : " ");
+        }
+        return content.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostEntity getPostWithContent() {
+        return postService.getPostById(nextPostId());
+    }
+
+    @Benchmark
+    public PostSummary getPostSummary() {
+        return postService.getPostSummary(nextPostId());
+    }
+
+    @Benchmark
+    public String decodeStoredContent() {
+        byte[] stored = storedContents[next];
+        next = (next + 1) % storedContents.length;
+        return CompressedTextConverter.decode(stored);
+    }
+
+    private long nextPostId() {
+        long postId = postIds[next];
+        next = (next + 1) % postIds.length;
+        return postId;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.service.PostSearchIndex;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 합성 말뭉치로 검색 색인의 재구성 시간과 질의 지연 시간을 잽니다. 게시물당 메모리는 setup 에서 출력합니다.
+ * 단어는 Zipf 분포에 가깝게 뽑으므로 자주 나오는 단어와 드문 단어의 posting list 길이가 실제처럼 차이 납니다.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PostSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 30_000;
+    private static final int WORDS_PER_POST = 30;
+
+    @Param({"1000000"})
+    public int posts;
+
+    private short[] corpus;
+    private String[] words;
+    private PostSearchIndex postSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "w" + Integer.toString(i, 36);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        corpus = new short[posts * WORDS_PER_POST];
+        for (int i = 0; i < corpus.length; i++) {
+            corpus[i] = (short) zipf(random);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        postSearchIndex = new PostSearchIndex();
+        postSearchIndex.rebuild(this::load);
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n색인 게시물 %d건, 추정 %d bytes (%.1f bytes/post), 힙 증가 %d bytes (%.1f bytes/post)%n",
+            postSearchIndex.size(),
+            postSearchIndex.estimatedBytes(),
+            (double) postSearchIndex.estimatedBytes() / posts,
+            after - before,
+            (double) (after - before) / posts);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PostSearchIndex rebuild() {
+        PostSearchIndex rebuilt = new PostSearchIndex();
+        rebuilt.rebuild(this::load);
+        return rebuilt;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public PostSearchIndex.SearchHits searchCommonAndRareTerm() {
+        return postSearchIndex.search(words[3] + " " + words[2_000], 20);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public PostSearchIndex.SearchHits searchRareTerms() {
+        return postSearchIndex.search(words[5_000] + " " + words[12_000], 20);
+    }
+
+    private void load(BiConsumer<Long, String> sink) {
+        StringBuilder content = new StringBuilder(WORDS_PER_POST * 5);
+        for (int post = 0; post < posts; post++) {
+            content.setLength(0);
+            for (int word = 0; word < WORDS_PER_POST; word++) {
+                content.append(words[corpus[post * WORDS_PER_POST + word]]).append(' ');
+            }
+            sink.accept(post + 1L, content.toString());
+        }
+    }
+
+    private static int zipf(SplittableRandom random) {
+        // 역변환으로 대략 1/rank 분포를 만든다.
+        return (int) Math.min(VOCABULARY - 1, Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1);
+    }
+}
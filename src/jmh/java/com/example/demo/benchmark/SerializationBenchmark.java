@@ -0,0 +1,53 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.PostController;
+import com.example.demo.controller.UserController;
+import com.example.demo.model.dto.MyProfileResponse;
+import com.example.demo.model.dto.PostResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 애플리케이션이 실제로 사용하는 ObjectMapper 로 응답 DTO 를 직렬화합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PostResponse postResponse;
+    private MyProfileResponse myProfileResponse;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState state) {
+        objectMapper = state.getBean(ObjectMapper.class);
+        postResponse = state.getBean(PostController.class).toResponse(state.post);
+        myProfileResponse = state.getBean(UserController.class).toMyProfileResponse(state.activeUser);
+    }
+
+    @Benchmark
+    public byte[] serializePostResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(postResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeMyProfileResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(myProfileResponse);
+    }
+}
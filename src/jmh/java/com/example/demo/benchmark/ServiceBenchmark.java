@@ -0,0 +1,84 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.dto.PostCreateDto;
+import com.example.demo.model.dto.PostUpdateDto;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.example.demo.service.PostService;
+import com.example.demo.service.UserService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 서비스 메서드를 embedded H2 에 대해 왕복으로 호출합니다. 메일은 stub 으로 대체합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private UserService userService;
+    private PostService postService;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState state) {
+        userService = state.getBean(UserService.class);
+        postService = state.getBean(PostService.class);
+    }
+
+    @Benchmark
+    public UserEntity getUserById(ApplicationState state) {
+        return userService.getByIdOrElseThrow(state.activeUser.getId());
+    }
+
+    @Benchmark
+    public UserEntity getUserByEmail(ApplicationState state) {
+        return userService.getByEmail(state.activeUser.getEmail());
+    }
+
+    @Benchmark
+    public PendingUserEntity createUser() {
+        return userService.createUser(UserCreateDto.builder()
+            .email("user" + sequence.incrementAndGet() + "@example.com")
+            .nickname("benchmark")
+            .address("Seoul")
+            .build());
+    }
+
+    @Benchmark
+    public PostEntity getPostById(ApplicationState state) {
+        return postService.getPostById(state.post.getId());
+    }
+
+    @Benchmark
+    public PostEntity createPost(ApplicationState state) {
+        return postService.createPost(PostCreateDto.builder()
+            .writerId(state.activeUser.getId())
+            .content("benchmark content")
+            .build());
+    }
+
+    @Benchmark
+    public PostEntity updatePost(ApplicationState state) {
+        return postService.updatePost(state.post.getId(), PostUpdateDto.builder()
+            .content("updated " + sequence.incrementAndGet())
+            .build());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.benchmark;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * SMTP 연결 없이 메일 발송을 성공으로 처리하는 JavaMailSender 입니다.
+ */
+@Configuration
+public class StubMailSenderConfiguration {
+
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.service.WriterTimeline;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 작성자 10만 명의 타임라인 링을 채운 뒤 작성자당 메모리를 setup 에서 출력하고, 글 붙이기와 최신 글 읽기 시간을 잽니다.
+ * postsPerWriter 가 capacity 보다 작으면 링이 덜 자란 상태, 크면 가득 찬 상태의 메모리입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WriterTimelineBenchmark {
+
+    private static final int WRITERS = 100_000;
+    private static final IntFunction<List<Long>> EMPTY = capacity -> List.of();
+
+    @Param({"3", "100"})
+    public int postsPerWriter;
+
+    private WriterTimeline writerTimeline;
+    private SplittableRandom random;
+    private long nextPostId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        writerTimeline = new WriterTimeline(32, WRITERS);
+        for (long writerId = 0; writerId < WRITERS; writerId++) {
+            writerTimeline.recent(writerId, 1, EMPTY);
+        }
+        for (int post = 0; post < postsPerWriter; post++) {
+            for (long writerId = 0; writerId < WRITERS; writerId++) {
+                writerTimeline.append(writerId, ++nextPostId);
+            }
+        }
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+        System.out.printf("%n작성자 %d명, 작성자당 글 %d개: 추정 %.1f bytes/writer, 힙 증가 %.1f bytes/writer%n",
+            writerTimeline.size(),
+            postsPerWriter,
+            (double) writerTimeline.estimatedBytes() / WRITERS,
+            (double) (after - before) / WRITERS);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public void append() {
+        writerTimeline.append(random.nextInt(WRITERS), ++nextPostId);
+    }
+
+    @Benchmark
+    public long[] recent20() {
+        return writerTimeline.recent(random.nextInt(WRITERS), 20, EMPTY);
+    }
+}
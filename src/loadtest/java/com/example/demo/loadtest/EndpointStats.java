@@ -0,0 +1,89 @@
+package com.example.demo.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 한 측정 단계에서 호출 하나의 응답 시간과 결과를 모읍니다.
+ * 응답 시간은 요청을 실제로 보낸 때가 아니라 보내기로 예정된 때부터 잽니다.
+ * 그래서 서버가 밀려서 요청이 늦게 나가도 그만큼의 대기가 백분위수에 드러납니다.
+ */
+final class EndpointStats {
+
+    // 마이크로초 단위로, 유효숫자 세 자리까지 기록한다.
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void recordResponse(long latencyNanos, int status) {
+        recordLatency(latencyNanos);
+        if (status == 429) {
+            rejected.increment();
+        } else if (status >= 200 && status < 400) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    /**
+     * 연결 실패나 시간 초과처럼 응답을 받지 못한 요청입니다.
+     */
+    void recordFailure(long latencyNanos) {
+        recordLatency(latencyNanos);
+        failed.increment();
+    }
+
+    /**
+     * 응답을 기다리는 요청이 너무 많아서 보내지 않은 요청입니다.
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * 성공하지 못한 요청 수입니다. 429 로 거절된 요청과 보내지 않은 요청도 포함합니다.
+     */
+    long getUnsuccessful() {
+        return failed.sum() + rejected.sum() + dropped.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    long getCount() {
+        return latencies.getTotalCount() + dropped.sum();
+    }
+
+    /**
+     * @return 밀리초 단위 백분위수. 기록이 없으면 0 입니다.
+     */
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.loadtest;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * SMTP 연결 없이 인증 메일을 받아서, 메일 본문의 인증 링크를 모아 둡니다.
+ * 부하 생성기는 사용자가 메일의 링크를 누르는 것처럼 이 링크로 인증 요청을 보냅니다.
+ */
+@Configuration
+public class InboxMailSenderConfiguration {
+
+    private static final Pattern VERIFY_PATH = Pattern.compile("/api/users/\\d+/verify\\?certificationCode=[\\w-]+");
+
+    private final Queue<String> verifyPaths = new ConcurrentLinkedQueue<>();
+
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new JavaMailSenderImpl() {
+            @Override
+            public void send(SimpleMailMessage... simpleMessages) {
+                for (SimpleMailMessage message : simpleMessages) {
+                    Matcher matcher = VERIFY_PATH.matcher(String.valueOf(message.getText()));
+                    if (matcher.find()) {
+                        verifyPaths.add(matcher.group());
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * 아직 누르지 않은 인증 링크의 경로를 하나 꺼냅니다. 없으면 null 입니다.
+     */
+    public String pollVerifyPath() {
+        return verifyPaths.poll();
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.dto.BulkItemResult;
+import com.example.demo.model.dto.PostCreateDto;
+import com.example.demo.model.dto.PostUpdateDto;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.service.PostService;
+import com.example.demo.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * embedded H2 위에 애플리케이션을 띄우고, 정해 둔 비율로 섞은 호출을 열린 루프(open loop)로 보내서 처리 용량을 잽니다.
+ * 요청은 앞선 응답을 기다리지 않고 초당 rate 개씩 예정된 시각에 보냅니다. rates 의 단계마다 워밍업 뒤에 측정하고,
+ * 호출별 처리량과 p50/p99/p99.9 를 보고합니다. 모든 호출의 p99 와 오류 비율이 기준을 지킨 가장 높은 단계가 처리 용량입니다.
+ *
+ * <p>가입한 유저의 인증은 메일로 받은 인증 링크를 누르는 것처럼 보냅니다.
+ * 아직 받은 링크가 없으면 인증 대신 가입을 보냅니다.
+ */
+public final class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int SEED_BATCH_SIZE = 500;
+    // 조회와 수정은 최근에 만든 게시물 중에서 고른다. 2의 거듭제곱이어야 한다.
+    private static final int RECENT_POSTS = 1 << 16;
+    private static final String CONTENT = "load test content ".repeat(10);
+
+    private final LoadTestOptions options;
+    private final ObjectMapper objectMapper;
+    private final InboxMailSenderConfiguration inbox;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final Semaphore inFlight;
+
+    // 아래 필드는 요청을 보내는 스레드 하나에서만 쓴다.
+    private final Random random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<String> emails = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private final Set<Long> seededUserIds = new HashSet<>();
+    private long signups;
+
+    private final AtomicLongArray recentPostIds = new AtomicLongArray(RECENT_POSTS);
+    private final AtomicLong postCount = new AtomicLong();
+
+    private LoadTest(LoadTestOptions options, ConfigurableApplicationContext context) {
+        this.options = options;
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.inbox = context.getBean(InboxMailSenderConfiguration.class);
+        this.baseUri = URI.create("http://localhost:"
+            + ((ServletWebServerApplicationContext) context).getWebServer().getPort());
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.inFlight = new Semaphore(options.maxInFlight);
+        this.random = new Random(options.seed);
+        this.operations = options.mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = start(options)) {
+            LoadTest loadTest = new LoadTest(options, context);
+            loadTest.seed(context.getBean(UserService.class), context.getBean(PostService.class));
+            LoadTestReport report = loadTest.run();
+            report.print(System.out);
+            report.write(loadTest.objectMapper);
+        }
+    }
+
+    /**
+     * 기본 설정도 명령행 인자로 넘겨야 application.properties 보다 우선합니다. 같은 키를 다시 주면 그 값을 씁니다.
+     */
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("server.port", "0");
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_ON_EXIT=FALSE");
+        arguments.put("spring.jpa.show-sql", "false");
+        arguments.put("logging.level.root", "WARN");
+        // 모든 요청이 같은 주소에서 오므로, 켜 두면 클라이언트별 한도에 걸려 처리 용량이 아니라 한도를 재게 된다.
+        arguments.put("admission.enabled", "false");
+        arguments.put("mail.outbox.poll-interval-ms", "100");
+        for (String applicationArg : options.applicationArgs) {
+            int separator = applicationArg.indexOf('=');
+            arguments.put(applicationArg.substring(2, separator < 0 ? applicationArg.length() : separator),
+                separator < 0 ? "" : applicationArg.substring(separator + 1));
+        }
+        return new SpringApplicationBuilder(DemoApplication.class, InboxMailSenderConfiguration.class)
+            .run(arguments.entrySet().stream()
+                .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                .toArray(String[]::new));
+    }
+
+    /**
+     * 측정 전에 활성 유저와 게시물을 서비스로 바로 만들어 둡니다.
+     */
+    private void seed(UserService userService, PostService postService) {
+        for (int i = 0; i < options.users; i++) {
+            String email = "seed" + i + "@example.com";
+            PendingUserEntity pendingUser = userService.createUser(UserCreateDto.builder()
+                .email(email)
+                .nickname("seed")
+                .address("Seoul")
+                .build());
+            userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+            emails.add(email);
+            userIds.add(pendingUser.getId());
+            seededUserIds.add(pendingUser.getId());
+        }
+        for (int offset = 0; offset < options.posts; offset += SEED_BATCH_SIZE) {
+            List<PostCreateDto> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = offset; i < Math.min(offset + SEED_BATCH_SIZE, options.posts); i++) {
+                batch.add(PostCreateDto.builder()
+                    .writerId(userIds.get(i % userIds.size()))
+                    .content(CONTENT)
+                    .build());
+            }
+            for (BulkItemResult result : postService.createPosts(offset, batch)) {
+                if (result.getId() != null) {
+                    rememberPost(result.getId());
+                }
+            }
+        }
+    }
+
+    private LoadTestReport run() throws InterruptedException {
+        LoadTestReport report = new LoadTestReport(options);
+        for (int rate : options.rates) {
+            runStep(rate, options.warmup);
+            Map<Operation, EndpointStats> stats = runStep(rate, options.duration);
+            if (!report.addStep(rate, stats, options.duration.toNanos() / 1e9)) {
+                break;
+            }
+        }
+        return report;
+    }
+
+    /**
+     * rate 에 맞춰 예정된 시각마다 요청을 보내고, 보낸 요청이 모두 끝날 때까지 기다립니다.
+     */
+    private Map<Operation, EndpointStats> runStep(int rate, Duration length) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        long startedAt = System.nanoTime();
+        long lengthNanos = length.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduledAt = startedAt + (long) (i * (double) TimeUnit.SECONDS.toNanos(1) / rate);
+            if (scheduledAt - startedAt >= lengthNanos) {
+                break;
+            }
+            parkUntil(scheduledAt);
+            send(nextOperation(), scheduledAt, stats);
+        }
+        while (inFlight.availablePermits() < options.maxInFlight) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    private void send(Operation operation, long scheduledAt, Map<Operation, EndpointStats> stats) {
+        String verifyPath = null;
+        if (operation == Operation.VERIFY) {
+            verifyPath = pollVerifyPath();
+            if (verifyPath == null) {
+                operation = Operation.SIGNUP;
+            }
+        }
+        EndpointStats endpointStats = stats.get(operation);
+        if (!inFlight.tryAcquire()) {
+            endpointStats.recordDropped();
+            return;
+        }
+        Operation sent = operation;
+        httpClient.sendAsync(request(operation, verifyPath), HttpResponse.BodyHandlers.ofByteArray())
+            .whenComplete((response, failure) -> {
+                long latencyNanos = System.nanoTime() - scheduledAt;
+                try {
+                    if (failure != null) {
+                        endpointStats.recordFailure(latencyNanos);
+                        return;
+                    }
+                    endpointStats.recordResponse(latencyNanos, response.statusCode());
+                    if (sent == Operation.CREATE_POST && response.statusCode() == 201) {
+                        rememberPost(objectMapper.readTree(response.body()).get("id").asLong());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+    }
+
+    private HttpRequest request(Operation operation, String verifyPath) {
+        int user = random.nextInt(emails.size());
+        return switch (operation) {
+            case SIGNUP -> post("/api/users", UserCreateDto.builder()
+                .email("load" + signups++ + "@example.com")
+                .nickname("load")
+                .address("Seoul")
+                .build());
+            case VERIFY -> builder(verifyPath).GET().build();
+            case GET_ME -> builder("/api/users/me").header("EMAIL", emails.get(user)).GET().build();
+            case UPDATE_ME -> builder("/api/users/me")
+                .header("EMAIL", emails.get(user))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .PUT(body(UserUpdateDto.builder()
+                    .nickname("load" + random.nextInt(1000))
+                    .address("Seoul")
+                    .build()))
+                .build();
+            case CREATE_POST -> post("/api/posts", PostCreateDto.builder()
+                .writerId(userIds.get(user))
+                .content(CONTENT)
+                .build());
+            case GET_POST -> builder("/api/posts/" + randomPostId()).GET().build();
+            case UPDATE_POST -> builder("/api/posts/" + randomPostId())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .PUT(body(PostUpdateDto.builder().content(CONTENT + random.nextInt(1000)).build()))
+                .build();
+        };
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return builder(path)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(body(body))
+            .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private HttpRequest.BodyPublisher body(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Operation nextOperation() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * 측정 중에 가입한 유저의 인증 링크를 꺼냅니다. 미리 만든 유저는 이미 인증했으므로 건너뜁니다.
+     */
+    private String pollVerifyPath() {
+        String path;
+        while ((path = inbox.pollVerifyPath()) != null) {
+            long userId = Long.parseLong(path.substring("/api/users/".length(), path.indexOf("/verify")));
+            if (!seededUserIds.contains(userId)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private void rememberPost(long postId) {
+        long index = postCount.getAndIncrement();
+        recentPostIds.set((int) (index & (RECENT_POSTS - 1)), postId);
+    }
+
+    private long randomPostId() {
+        int bound = (int) Math.min(postCount.get(), RECENT_POSTS);
+        long postId = recentPostIds.get(random.nextInt(bound));
+        // 자리만 잡고 아직 id 를 쓰지 않은 칸이면, 미리 만든 첫 게시물을 쓴다.
+        return postId != 0 ? postId : recentPostIds.get(0);
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * 부하 생성기 옵션입니다. {@code key=value} 형식의 인자는 부하 옵션으로,
+ * {@code --} 로 시작하는 인자는 애플리케이션 설정으로 넘깁니다(예: {@code --app.threads.virtual.enabled=true}).
+ */
+final class LoadTestOptions {
+
+    private static final String DEFAULT_MIX =
+        "signup:5,verify:5,get-me:20,update-me:5,create-post:10,get-post:50,update-post:5";
+
+    /** 차례로 올려 가며 측정할 초당 요청 수입니다. */
+    final List<Integer> rates;
+    final Duration warmup;
+    final Duration duration;
+    /** 이 p99 이하이고 오류 비율이 maxErrorRatio 이하인 가장 높은 단계를 처리 용량으로 봅니다. */
+    final Duration sloP99;
+    final double maxErrorRatio;
+    final Map<Operation, Integer> mix;
+    final int users;
+    final int posts;
+    /** 응답을 기다리는 요청이 이만큼 쌓이면, 새 요청은 보내지 않고 버린 것으로 셉니다. */
+    final int maxInFlight;
+    final long seed;
+    final Path result;
+    final List<String> applicationArgs;
+
+    private LoadTestOptions(Map<String, String> options, List<String> applicationArgs) {
+        this.rates = Arrays.stream(options.getOrDefault("rates", "100,200,400,800").split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .toList();
+        this.warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        this.duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "30s"));
+        this.sloP99 = DurationStyle.detectAndParse(options.getOrDefault("slo-p99", "100ms"));
+        this.maxErrorRatio = Double.parseDouble(options.getOrDefault("max-error-ratio", "0.01"));
+        this.mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        this.users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        this.posts = Integer.parseInt(options.getOrDefault("posts", "10000"));
+        this.maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.result = Path.of(options.getOrDefault("result", "target/loadtest-result.json"));
+        this.applicationArgs = applicationArgs;
+        if (rates.isEmpty() || rates.stream().anyMatch(rate -> rate <= 0)) {
+            throw new IllegalArgumentException("rates 는 양수여야 합니다: " + rates);
+        }
+        if (users <= 0 || posts <= 0) {
+            throw new IllegalArgumentException("users 와 posts 는 양수여야 합니다.");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("key=value 형식이어야 합니다: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(options, applicationArgs);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("mix 는 호출:비중 목록이어야 합니다: " + mix);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Operation.fromOptionName(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix 에 비중이 양수인 호출이 하나 이상 있어야 합니다.");
+        }
+        return weights;
+    }
+}
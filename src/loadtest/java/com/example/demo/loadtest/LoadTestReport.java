@@ -0,0 +1,133 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 단계별 측정 결과와 처리 용량입니다. 빌드 간에 비교할 수 있도록 JSON 으로도 남깁니다.
+ */
+final class LoadTestReport {
+
+    record Endpoint(
+        String endpoint,
+        long count,
+        double throughput,
+        double p50Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis,
+        long failed,
+        long rejected,
+        long dropped) {
+    }
+
+    record Step(int rate, double throughput, double errorRatio, double worstP99Millis, boolean passed, List<Endpoint> endpoints) {
+    }
+
+    private final LoadTestOptions options;
+    private final List<Step> steps = new ArrayList<>();
+
+    LoadTestReport(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * @return 모든 호출의 p99 가 기준 이하이고 오류 비율도 기준 이하이면 true
+     */
+    boolean addStep(int rate, Map<Operation, EndpointStats> stats, double seconds) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        long count = 0;
+        long succeeded = 0;
+        long unsuccessful = 0;
+        double worstP99Millis = 0;
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            if (endpointStats.getCount() == 0) {
+                continue;
+            }
+            count += endpointStats.getCount();
+            succeeded += endpointStats.getSucceeded();
+            unsuccessful += endpointStats.getUnsuccessful();
+            worstP99Millis = Math.max(worstP99Millis, endpointStats.percentileMillis(99));
+            endpoints.add(new Endpoint(
+                entry.getKey().getEndpoint(),
+                endpointStats.getCount(),
+                endpointStats.getSucceeded() / seconds,
+                endpointStats.percentileMillis(50),
+                endpointStats.percentileMillis(99),
+                endpointStats.percentileMillis(99.9),
+                endpointStats.maxMillis(),
+                endpointStats.getFailed(),
+                endpointStats.getRejected(),
+                endpointStats.getDropped()));
+        }
+        double errorRatio = count == 0 ? 0 : (double) unsuccessful / count;
+        boolean passed = worstP99Millis <= options.sloP99.toNanos() / 1_000_000.0 && errorRatio <= options.maxErrorRatio;
+        steps.add(new Step(rate, succeeded / seconds, errorRatio, worstP99Millis, passed, endpoints));
+        return passed;
+    }
+
+    /**
+     * 기준을 처음 어기기 전까지 통과한 가장 높은 초당 요청 수입니다. 첫 단계부터 어기면 0 입니다.
+     */
+    int getCapacity() {
+        int capacity = 0;
+        for (Step step : steps) {
+            if (!step.passed()) {
+                break;
+            }
+            capacity = step.rate();
+        }
+        return capacity;
+    }
+
+    void print(PrintStream out) {
+        for (Step step : steps) {
+            out.println(format("rate %d/s  throughput %.1f/s  errors %.2f%%  worst p99 %.2f ms  %s",
+                step.rate(), step.throughput(), step.errorRatio() * 100, step.worstP99Millis(),
+                step.passed() ? "PASS" : "FAIL"));
+            out.println(format("  %-28s %8s %9s %9s %9s %9s %9s %7s %7s %7s",
+                "endpoint", "count", "ok/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "429", "dropped"));
+            for (Endpoint endpoint : step.endpoints()) {
+                out.println(format("  %-28s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d %7d %7d",
+                    endpoint.endpoint(), endpoint.count(), endpoint.throughput(), endpoint.p50Millis(),
+                    endpoint.p99Millis(), endpoint.p999Millis(), endpoint.maxMillis(),
+                    endpoint.failed(), endpoint.rejected(), endpoint.dropped()));
+            }
+        }
+        out.println(format("capacity: %d req/s (p99 <= %d ms, errors <= %.2f%%)",
+            getCapacity(), options.sloP99.toMillis(), options.maxErrorRatio * 100));
+    }
+
+    void write(ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("capacity", getCapacity());
+        result.put("sloP99Millis", options.sloP99.toMillis());
+        result.put("maxErrorRatio", options.maxErrorRatio);
+        result.put("warmupSeconds", options.warmup.toSeconds());
+        result.put("durationSeconds", options.duration.toSeconds());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix.forEach((operation, weight) -> mix.put(operation.getOptionName(), weight));
+        result.put("mix", mix);
+        result.put("applicationArgs", options.applicationArgs);
+        result.put("steps", steps);
+
+        Path parent = options.result.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.result.toFile(), result);
+    }
+
+    private static String format(String format, Object... args) {
+        return String.format(Locale.ROOT, format, args);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.loadtest;
+
+/**
+ * 부하 생성기가 보내는 호출입니다. 결과는 이 단위로 모아서 보고합니다.
+ */
+enum Operation {
+
+    SIGNUP("POST /api/users"),
+    VERIFY("GET /api/users/{id}/verify"),
+    GET_ME("GET /api/users/me"),
+    UPDATE_ME("PUT /api/users/me"),
+    CREATE_POST("POST /api/posts"),
+    GET_POST("GET /api/posts/{id}"),
+    UPDATE_POST("PUT /api/posts/{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * mix 옵션에 쓰는 이름입니다. 예: {@code get-post}.
+     */
+    String getOptionName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    static Operation fromOptionName(String optionName) {
+        for (Operation operation : values()) {
+            if (operation.getOptionName().equals(optionName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 호출입니다: " + optionName);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    /**
+     * 클라이언트별 버킷을 몇 개까지, 얼마 동안 요청이 없을 때까지 들고 있을지 정한다.
+     */
+    private long maximumKeys = 100_000;
+    private Duration keyIdleTimeout = Duration.ofMinutes(10);
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        private String method;
+        private String path;
+        private Limit perKey = new Limit();
+        private Limit global = new Limit();
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /**
+         * 초당 허용하는 요청 수.
+         */
+        private double rate = 10;
+        /**
+         * 쉬고 있던 클라이언트가 한 번에 보낼 수 있는 요청 수.
+         */
+        private int burst = 20;
+    }
+}
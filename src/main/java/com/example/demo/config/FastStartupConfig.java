@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import jakarta.servlet.Filter;
+import java.util.Map;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+
+/**
+ * fast-startup 프로파일처럼 spring.main.lazy-initialization=true 이면 빈을 처음 쓸 때 만듭니다.
+ * 첫 요청이 느려지지 않도록 컨트롤러와 서블릿 필터는 시작할 때 만들고,
+ * 스케줄 작업은 빈이 만들어져야 등록되므로 {@code @Scheduled} 메서드가 있는 빈도 시작할 때 만듭니다.
+ * AOT 처리는 프로파일 없이 하므로 이 설정은 프로파일과 상관없이 등록되며, 지연 초기화가 꺼져 있으면 아무 일도 하지 않습니다.
+ */
+@Configuration
+public class FastStartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerWebAndScheduledBeans() {
+        return (beanName, beanDefinition, beanType) ->
+            AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || Filter.class.isAssignableFrom(beanType)
+                || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        Map<?, ?> scheduledMethods = MethodIntrospector.selectMethods(beanType,
+            (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class));
+        return !scheduledMethods.isEmpty();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MailOutboxProperties.class)
+public class MailOutboxConfig {
+
+}
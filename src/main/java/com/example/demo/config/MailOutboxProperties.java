@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "mail.outbox")
+public class MailOutboxProperties {
+
+    private int batchSize = 50;
+    private int workers = 2;
+    private int queueCapacity = 4;
+    private int maxAttempts = 5;
+    private long pollIntervalMs = 1000;
+    private long leaseMs = 60_000;
+    private long initialBackoffMs = 1000;
+    private long maxBackoffMs = 300_000;
+}
@@ -0,0 +1,55 @@
+package com.example.demo.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.time.Duration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * /actuator/prometheus 로 내보내는 지표 설정입니다.
+ * 지연 시간 히스토그램은 /api/users, /api/posts 요청과 서비스 메서드에만 켜고, 버킷 범위를 1ms ~ 10s 로 제한해 기록 비용을 줄입니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "service.method";
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+    private static final Duration MINIMUM_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAXIMUM_EXPECTED = Duration.ofSeconds(10);
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter latencyHistogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!isApiRequest(id) && !id.getName().equals(SERVICE_TIMER)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .percentilesHistogram(true)
+                    .minimumExpectedValue((double) MINIMUM_EXPECTED.toNanos())
+                    .maximumExpectedValue((double) MAXIMUM_EXPECTED.toNanos())
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+
+    private static boolean isApiRequest(Meter.Id id) {
+        if (!id.getName().equals(HTTP_SERVER_REQUESTS)) {
+            return false;
+        }
+        String uri = id.getTag("uri");
+        return uri != null && (uri.startsWith("/api/users") || uri.startsWith("/api/posts"));
+    }
+}
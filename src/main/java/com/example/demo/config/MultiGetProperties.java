@@ -0,0 +1,16 @@
+package com.example.demo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "multi-get")
+public class MultiGetProperties {
+
+    /**
+     * 한 번의 요청으로 조회할 수 있는 id 수. IN 절의 길이와 응답 크기가 이 값에 비례한다.
+     */
+    private int maxIds = 100;
+}
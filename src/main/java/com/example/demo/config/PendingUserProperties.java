@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user.pending")
+public class PendingUserProperties {
+
+    /**
+     * 이 시간 안에 인증하지 않은 가입 신청은 만료되어 지워진다.
+     */
+    private Duration ttl = Duration.ofHours(24);
+    private long purgeIntervalMs = 60_000;
+    private int purgeBatchSize = 500;
+    /**
+     * 한 주기에 지우는 배치 수의 상한. 남은 행은 다음 주기에 지운다.
+     */
+    private int purgeMaxBatches = 20;
+}
@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 쓰기를 커밋한 요청과 클라이언트를 기억해서, 레플리카가 따라잡기 전까지 그 읽기를 primary 로 보내게 합니다.
+ * 같은 요청 안의 이후 읽기는 요청이 끝날 때까지, 같은 클라이언트의 다음 요청은 stickiness 동안 primary 를 씁니다.
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(ReplicaProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumStickyClients())
+            .expireAfterWrite(properties.getStickiness())
+            .build();
+    }
+
+    public void begin(String clientKey) {
+        CURRENT.set(new RequestState(clientKey));
+    }
+
+    public void end() {
+        CURRENT.remove();
+    }
+
+    public boolean isSticky() {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return false;
+        }
+        return state.written || (state.clientKey != null && recentWriters.getIfPresent(state.clientKey) != null);
+    }
+
+    /**
+     * 읽기 전용이 아닌 트랜잭션이 커밋되면 현재 요청과 클라이언트를 쓰기를 한 것으로 표시합니다.
+     * 롤백된 트랜잭션은 아무것도 바꾸지 않았으므로 표시하지 않습니다.
+     */
+    void markWrittenOnCommit() {
+        RequestState state = CURRENT.get();
+        if (state == null || state.written || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                state.written = true;
+                if (state.clientKey != null) {
+                    recentWriters.put(state.clientKey, Boolean.TRUE);
+                }
+            }
+        });
+    }
+
+    private static final class RequestState {
+
+        private final String clientKey;
+        private volatile boolean written;
+
+        private RequestState(String clientKey) {
+            this.clientKey = clientKey;
+        }
+    }
+}
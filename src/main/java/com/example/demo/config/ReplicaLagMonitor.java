@@ -0,0 +1,101 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * primary 의 heartbeat 행에 주기적으로 현재 시각을 쓰고, 각 레플리카에 복제된 값과의 차이로 지연을 잽니다.
+ * 지연이 max-lag 를 넘거나 heartbeat 를 읽지 못한 레플리카는 읽기에서 빠지고, 다시 따라잡으면 돌아옵니다.
+ * 스케줄링이 꺼져 있으면 시작할 때 한 번만 잽니다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String REPLICA_LAG = "replica.lag";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas;
+    private final AtomicLong[] lagMillis;
+    private final boolean[] healthy;
+    private final long maxLagMillis;
+
+    public ReplicaLagMonitor(
+        ReplicaRoutingDataSource routingDataSource,
+        ReplicaProperties properties,
+        MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.primary = new JdbcTemplate(routingDataSource.getPrimary());
+        this.replicas = routingDataSource.getReplicas().stream().map(JdbcTemplate::new).toList();
+        this.lagMillis = new AtomicLong[replicas.size()];
+        this.healthy = new boolean[replicas.size()];
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        for (int i = 0; i < lagMillis.length; i++) {
+            lagMillis[i] = new AtomicLong(Long.MAX_VALUE);
+            Gauge.builder(REPLICA_LAG, lagMillis[i], AtomicLong::get)
+                .description("heartbeat 로 잰 레플리카 지연. 읽지 못하면 Long.MAX_VALUE")
+                .baseUnit("milliseconds")
+                .tag("replica", routingDataSource.getReplicas().get(i).getPoolName())
+                .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        primary.execute("create table if not exists replication_heartbeat (id int primary key, beat_at bigint not null)");
+        probe();
+    }
+
+    @Scheduled(fixedDelayString = "${app.replicas.heartbeat-interval-ms:1000}")
+    public synchronized void probe() {
+        long now = Clock.systemUTC().millis();
+        beat(now);
+        int[] healthyReplicas = new int[replicas.size()];
+        int count = 0;
+        for (int i = 0; i < replicas.size(); i++) {
+            long lag = lag(i, now);
+            lagMillis[i].set(lag);
+            boolean caughtUp = lag <= maxLagMillis;
+            if (caughtUp != healthy[i]) {
+                log.warn("레플리카 {} 를 읽기에 {}. 지연 {}ms",
+                    routingDataSource.getReplicas().get(i).getPoolName(), caughtUp ? "다시 넣습니다" : "쓰지 않습니다",
+                    lag == Long.MAX_VALUE ? "알 수 없음" : lag);
+                healthy[i] = caughtUp;
+            }
+            if (caughtUp) {
+                healthyReplicas[count++] = i;
+            }
+        }
+        routingDataSource.setHealthyReplicas(Arrays.copyOf(healthyReplicas, count));
+    }
+
+    private void beat(long now) {
+        try {
+            if (primary.update("update replication_heartbeat set beat_at = ? where id = 1", now) == 0) {
+                primary.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("primary 에 heartbeat 를 쓰지 못했습니다.", e);
+        }
+    }
+
+    private long lag(int replica, long now) {
+        try {
+            List<Long> beats = replicas.get(replica)
+                .queryForList("select beat_at from replication_heartbeat where id = 1", Long.class);
+            return beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            log.debug("레플리카 {} 의 heartbeat 를 읽지 못했습니다.", replica, e);
+            return Long.MAX_VALUE;
+        }
+    }
+}
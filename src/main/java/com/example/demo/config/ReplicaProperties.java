@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+    private List<Instance> instances = new ArrayList<>();
+    /**
+     * heartbeat 가 이보다 많이 뒤처진 레플리카는 다시 따라잡을 때까지 읽기에서 뺀다.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+    /**
+     * 쓰기를 커밋한 클라이언트의 읽기를 이 시간 동안 primary 로 보낸다. max-lag 보다 짧으면 자기 쓰기를 못 볼 수 있다.
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+    private long maximumStickyClients = 100_000;
+    private long heartbeatIntervalMs = 1000;
+
+    @Getter
+    @Setter
+    public static class Instance {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * app.replicas.enabled=true 이면 spring.datasource 를 primary 로, app.replicas.instances 를 레플리카로 쓰는 라우팅 DataSource 를 만듭니다.
+ * {@code @Transactional(readOnly = true)} 인 작업만 레플리카로 가고, 쓰기와 트랜잭션 밖의 쿼리는 primary 로 갑니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+        ReplicaProperties properties,
+        UserCacheProperties userCacheProperties,
+        @Value("${post.response-cache.stale-read-window:0s}") Duration postResponseStaleReadWindow) {
+        if (userCacheProperties.getStaleReadWindow().compareTo(properties.getMaxLag()) < 0) {
+            log.warn("user.cache.stale-read-window({}) 가 app.replicas.max-lag({}) 보다 짧아서, 수정 직후 레플리카에서 읽은 옛 유저가 캐시에 남을 수 있습니다.",
+                userCacheProperties.getStaleReadWindow(), properties.getMaxLag());
+        }
+        if (postResponseStaleReadWindow.compareTo(properties.getMaxLag()) < 0) {
+            log.warn("post.response-cache.stale-read-window({}) 가 app.replicas.max-lag({}) 보다 짧아서, 수정 직후 레플리카에서 읽은 옛 게시물 응답이 캐시에 남을 수 있습니다.",
+                postResponseStaleReadWindow, properties.getMaxLag());
+        }
+        return new ReadYourWrites(properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        DataSourceProperties dataSourceProperties,
+        ReplicaProperties properties,
+        ReadYourWrites readYourWrites,
+        MeterRegistry meterRegistry,
+        Environment environment) {
+        // 자동 설정이 만드는 풀과 같은 spring.datasource.hikari.* 설정을 primary 와 레플리카에 똑같이 적용한다.
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricRegistry(meterRegistry);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Instance instance : properties.getInstances()) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(instance.getUrl());
+            replica.setUsername(instance.getUsername());
+            replica.setPassword(instance.getPassword());
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWrites);
+    }
+
+    /**
+     * 트랜잭션 매니저가 읽기 전용 여부를 정한 뒤 첫 쿼리에서 실제 커넥션을 고르도록, 커넥션을 늦게 가져오는 프록시로 감쌉니다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Spring 은 세션이 커넥션을 끝까지 들고 있게 하므로, open-in-view 로 요청 내내 열린 세션이 첫 트랜잭션의 커넥션을 다음 트랜잭션에도 쓴다.
+     * 트랜잭션마다 커넥션을 돌려주게 해서, 읽기 뒤의 쓰기가 레플리카로 가거나 쓰기 뒤의 읽기가 계속 primary 로 가지 않게 합니다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        ReplicaRoutingDataSource replicaRoutingDataSource,
+        ReplicaProperties properties,
+        MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, properties, meterRegistry);
+    }
+}
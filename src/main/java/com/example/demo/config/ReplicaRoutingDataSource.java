@@ -0,0 +1,80 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 따라잡은 레플리카 중 하나로, 나머지는 모두 primary 로 보내는 DataSource 입니다.
+ * 트랜잭션이 시작된 뒤에 커넥션을 골라야 읽기 전용 여부를 알 수 있으므로 LazyConnectionDataSourceProxy 뒤에 둡니다.
+ * 따라잡은 레플리카가 없거나, 방금 쓰기를 한 요청이면 읽기도 primary 로 보냅니다.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile int[] healthyReplicas = new int[0];
+
+    public ReplicaRoutingDataSource(
+        HikariDataSource primary,
+        List<HikariDataSource> replicas,
+        ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 읽기를 받을 레플리카의 번호를 바꿉니다. 지연 감시가 주기적으로 호출합니다.
+     */
+    void setHealthyReplicas(int[] healthyReplicas) {
+        this.healthyReplicas = healthyReplicas.clone();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.markWrittenOnCommit();
+            }
+            return PRIMARY;
+        }
+        int[] healthy = healthyReplicas;
+        if (healthy.length == 0 || readYourWrites.isSticky()) {
+            return PRIMARY;
+        }
+        return healthy[Math.floorMod(next.getAndIncrement(), healthy.length)];
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.config;
+
+import com.example.demo.exception.StatementBudgetExceededException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나가 실행한 SQL 을 셉니다. {@link StatementCountingDataSource} 가 요청 스레드에서 실행한 SQL 만 여기에 모입니다.
+ * 예산은 요청을 처리할 핸들러가 정해진 뒤에 {@link StatementBudgetInterceptor} 가 정합니다.
+ * 예산을 정한 요청은 예산을 넘는 SQL 을 실행하기 전에 실패시킬 수 있습니다.
+ */
+public final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private static final int MAXIMUM_SLOW_STATEMENTS = 10;
+
+    private String endpoint;
+    private int maxStatements = -1;
+    private boolean ignored;
+    private final boolean failOnBudgetExceeded;
+    private final long slowThresholdNanos;
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private final List<String> slowStatements = new ArrayList<>();
+    private int count;
+    private long elapsedNanos;
+
+    private RequestStatements(String endpoint, boolean failOnBudgetExceeded, long slowThresholdNanos) {
+        this.endpoint = endpoint;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    /**
+     * 예산 없이 세기 시작합니다.
+     */
+    public static RequestStatements begin(String endpoint, StatementProperties properties) {
+        RequestStatements statements = new RequestStatements(
+            endpoint, properties.isFailOnBudgetExceeded(), properties.getSlowThreshold().toNanos());
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 이 요청이 실행할 수 있는 SQL 문 수를 정합니다. 이미 실행한 SQL 도 예산에 들어갑니다.
+     */
+    void limit(String endpoint, int maxStatements) {
+        this.endpoint = endpoint;
+        this.maxStatements = maxStatements;
+    }
+
+    /**
+     * 이 요청의 SQL 은 더 세지 않습니다. 지표와 로그에도 남기지 않습니다.
+     */
+    void ignore() {
+        this.ignored = true;
+    }
+
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isOverBudget() {
+        return maxStatements >= 0 && count > maxStatements;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    /**
+     * threshold 번 이상 실행한 SQL 과 실행 횟수입니다.
+     */
+    public Map<String, Integer> duplicates(int threshold) {
+        Map<String, Integer> duplicates = new LinkedHashMap<>();
+        executions.forEach((sql, times) -> {
+            if (times >= threshold) {
+                duplicates.put(sql, times);
+            }
+        });
+        return duplicates;
+    }
+
+    public List<String> getSlowStatements() {
+        return slowStatements;
+    }
+
+    /**
+     * SQL 을 실행하기 전에 부릅니다. 예산을 넘기게 되고 실패시키도록 설정했으면 실행하지 않고 예외를 던집니다.
+     */
+    void beforeExecute(String sql) {
+        if (ignored) {
+            return;
+        }
+        if (failOnBudgetExceeded && maxStatements >= 0 && count >= maxStatements) {
+            count++;
+            throw new StatementBudgetExceededException(endpoint, maxStatements);
+        }
+        count++;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    void afterExecute(String sql, long nanos) {
+        if (ignored) {
+            return;
+        }
+        elapsedNanos += nanos;
+        if (nanos >= slowThresholdNanos && slowStatements.size() < MAXIMUM_SLOW_STATEMENTS) {
+            slowStatements.add(TimeUnit.NANOSECONDS.toMillis(nanos) + "ms " + sql);
+        }
+    }
+}
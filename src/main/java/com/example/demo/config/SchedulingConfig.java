@@ -0,0 +1,16 @@
+package com.example.demo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 메일 아웃박스 발송, 로그인 시각 반영 같은 백그라운드 작업을 켭니다.
+ * 벤치마크처럼 측정에 끼어들면 안 되는 환경에서는 app.scheduling.enabled=false 로 끌 수 있습니다.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.PostSlots;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 슬롯을 샤드에 놓는 consistent hash 링입니다. 샤드마다 이름에서 정한 여러 점을 링에 놓고, 슬롯은 시계 방향으로 처음 만나는 점의 샤드에 둡니다.
+ * 샤드를 하나 더하면 그 샤드의 점 바로 앞에 있던 슬롯만 옮겨지므로, 대략 1/N 만 움직입니다.
+ */
+public class ShardMap {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ShardMap(List<String> shards, int virtualNodes) {
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(PostSlots.mix(((long) shard.hashCode() << 32) | i), shard);
+            }
+        }
+    }
+
+    public String ownerOf(int slot) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(PostSlots.mix(slot));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public String[] owners() {
+        String[] owners = new String[PostSlots.SLOTS];
+        for (int slot = 0; slot < owners.length; slot++) {
+            owners[slot] = ownerOf(slot);
+        }
+        return owners;
+    }
+}
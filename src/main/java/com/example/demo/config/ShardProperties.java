@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.shards")
+public class ShardProperties {
+
+    private boolean enabled = false;
+    /**
+     * spring.datasource 인 home 샤드 말고 게시물을 나누어 둘 샤드들이다. 이름으로 해시 링 위치를 정하므로 이름을 바꾸면 슬롯이 옮겨진다.
+     */
+    private List<Instance> instances = new ArrayList<>();
+    /**
+     * 샤드마다 해시 링에 놓는 점의 수. 많을수록 슬롯이 샤드에 고르게 나뉜다.
+     */
+    private int virtualNodes = 64;
+    /**
+     * 슬롯을 옮길 때 한 번에 복사하는 게시물 수.
+     */
+    private int copyBatchSize = 500;
+
+    @Getter
+    @Setter
+    public static class Instance {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
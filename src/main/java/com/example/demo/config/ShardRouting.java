@@ -0,0 +1,335 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.PostSlots;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 게시물을 작성자의 슬롯 단위로 여러 샤드에 나누어 둡니다. 슬롯마다 지금 게시물을 가진 샤드는 home 샤드의 post_shard_slots 에 있고,
+ * 해시 링이 정한 샤드와 다르면 리밸런서가 옮깁니다.
+ * 현재 스레드가 쓸 샤드를 정하면 {@link ShardRoutingDataSource} 가 그 샤드의 커넥션을 줍니다. 정하지 않은 쿼리는 home 샤드로 갑니다.
+ * 쓰기는 슬롯의 읽기 잠금을 트랜잭션이 끝날 때까지 잡아서, 슬롯을 옮기는 쪽이 마지막 복사와 주인 변경 사이에 쓰기가 끼어들지 않게 합니다.
+ * 읽기는 잠그지 않고, 읽는 동안 슬롯의 주인이 바뀌었으면 다시 읽습니다.
+ */
+public class ShardRouting {
+
+    public static final String HOME = "home";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, DataSource> shards;
+    private final ShardMap target;
+    private final boolean sharded;
+    private final ReentrantReadWriteLock[] slotLocks = new ReentrantReadWriteLock[PostSlots.SLOTS];
+    private final ConcurrentMap<Integer, Set<Long>> movingSlots = new ConcurrentHashMap<>();
+    private volatile Placement placement;
+
+    /**
+     * shards 는 home 샤드를 포함해야 합니다. 슬롯 배치는 처음 쓸 때 home 샤드에서 읽습니다.
+     */
+    public ShardRouting(Map<String, DataSource> shards, int virtualNodes) {
+        if (!shards.containsKey(HOME)) {
+            throw new IllegalArgumentException("home 샤드가 없습니다.");
+        }
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+        this.target = new ShardMap(List.copyOf(shards.keySet()), virtualNodes);
+        this.sharded = shards.size() > 1;
+        for (int slot = 0; slot < slotLocks.length; slot++) {
+            slotLocks[slot] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * 샤드를 나누지 않을 때 씁니다. 모든 슬롯이 home 에 있고, 라우팅은 아무것도 하지 않습니다.
+     */
+    public static ShardRouting single(DataSource dataSource) {
+        ShardRouting shardRouting = new ShardRouting(Map.of(HOME, dataSource), 1);
+        shardRouting.placement = new Placement(shardRouting.target.owners());
+        return shardRouting;
+    }
+
+    static String currentShard() {
+        String shard = CURRENT.get();
+        return shard != null ? shard : HOME;
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    /**
+     * 라우팅을 거치지 않는 샤드별 DataSource 입니다. home 이 먼저 옵니다.
+     */
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    public String targetOwnerOf(int slot) {
+        return target.ownerOf(slot);
+    }
+
+    public Placement placement() {
+        Placement current = placement;
+        return current != null ? current : load();
+    }
+
+    /**
+     * 작성자의 게시물을 쓰는 트랜잭션이 그 작성자의 샤드를 쓰게 합니다. 트랜잭션의 첫 쿼리보다 먼저 호출해야 합니다.
+     */
+    public void bindWriter(long writerId) {
+        int slot = PostSlots.ofWriter(writerId);
+        bind(slot);
+        Set<Long> writers = movingSlots.get(slot);
+        if (writers != null) {
+            writers.add(writerId);
+        }
+    }
+
+    /**
+     * 게시물을 고치는 트랜잭션이 그 게시물의 샤드를 쓰게 합니다. 트랜잭션의 첫 쿼리보다 먼저 호출해야 합니다.
+     */
+    public void bindPost(long postId) {
+        bind(PostSlots.ofPost(postId));
+    }
+
+    public <T> T readPost(long postId, Supplier<T> action) {
+        return readAll(placement -> on(placement.ownerOfPost(postId), action));
+    }
+
+    public <T> T readWriter(long writerId, Supplier<T> action) {
+        return readAll(placement -> on(placement.ownerOfWriter(writerId), action));
+    }
+
+    /**
+     * 읽는 동안 슬롯의 주인이 바뀌었으면, 옮기기 전 샤드에서 지워진 게시물을 놓쳤을 수 있으므로 다시 읽습니다.
+     * 이미 한 샤드에 묶인 트랜잭션 안에서는 다른 샤드를 읽을 수 없으므로 다시 읽지 않습니다.
+     */
+    public <T> T readAll(Function<Placement, T> action) {
+        while (true) {
+            Placement read = placement();
+            boolean bound = CURRENT.get() != null;
+            try {
+                T result = action.apply(read);
+                if (read == placement || bound) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (read == placement || bound) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * action 의 쿼리를 shard 로 보냅니다. 트랜잭션 안이면 그 트랜잭션이 끝날 때까지 이 샤드를 씁니다.
+     */
+    public <T> T on(String shard, Supplier<T> action) {
+        if (!sharded) {
+            return action.get();
+        }
+        String current = CURRENT.get();
+        if (current != null) {
+            if (!current.equals(shard)) {
+                throw new IllegalStateException("이미 " + current + " 샤드를 쓰고 있어서 " + shard + " 샤드를 쓸 수 없습니다.");
+            }
+            return action.get();
+        }
+        CURRENT.set(shard);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    CURRENT.remove();
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * 슬롯을 옮기기 시작합니다. 지금 진행 중인 쓰기가 끝날 때까지 기다린 뒤 돌아오므로,
+     * 그 뒤로 이 슬롯에 쓰는 작성자는 {@link #writersSinceMoveStarted} 에 모입니다.
+     */
+    public void startMove(int slot) {
+        movingSlots.put(slot, ConcurrentHashMap.newKeySet());
+        Lock lock = slotLocks[slot].writeLock();
+        lock.lock();
+        lock.unlock();
+    }
+
+    public Set<Long> writersSinceMoveStarted(int slot) {
+        Set<Long> writers = movingSlots.get(slot);
+        return writers == null ? Set.of() : Set.copyOf(writers);
+    }
+
+    public void finishMove(int slot) {
+        movingSlots.remove(slot);
+    }
+
+    /**
+     * 슬롯에 쓰는 트랜잭션이 모두 끝날 때까지 기다린 뒤, 새 쓰기를 막은 채로 action 을 실행합니다.
+     */
+    public <T> T withSlotLocked(int slot, Supplier<T> action) {
+        Lock lock = slotLocks[slot].writeLock();
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 슬롯의 주인을 바꿉니다. {@link #withSlotLocked} 안에서 호출해야 합니다.
+     */
+    public synchronized void assign(int slot, String shard) {
+        if (!shards.containsKey(shard)) {
+            throw new IllegalArgumentException("알 수 없는 샤드입니다: " + shard);
+        }
+        new JdbcTemplate(shards.get(HOME)).update("update post_shard_slots set shard = ? where slot = ?", shard, slot);
+        placement = placement().with(slot, shard);
+    }
+
+    /**
+     * post_shard_slots 를 다시 읽습니다. 테이블을 직접 고친 뒤에 씁니다.
+     */
+    public synchronized void reload() {
+        if (sharded) {
+            placement = readPlacement();
+        }
+    }
+
+    private synchronized Placement load() {
+        if (placement == null) {
+            placement = readPlacement();
+        }
+        return placement;
+    }
+
+    private Placement readPlacement() {
+        JdbcTemplate home = new JdbcTemplate(shards.get(HOME));
+        String[] owners = new String[PostSlots.SLOTS];
+        home.query("select slot, shard from post_shard_slots",
+            (RowCallbackHandler) resultSet -> owners[resultSet.getInt(1)] = resultSet.getString(2));
+        if (isEmpty(owners)) {
+            // 처음 나누어 쓰는 것이면 해시 링이 정한 대로 둔다.
+            String[] initial = target.owners();
+            List<Object[]> rows = new ArrayList<>(initial.length);
+            for (int slot = 0; slot < initial.length; slot++) {
+                rows.add(new Object[]{slot, initial[slot]});
+            }
+            home.batchUpdate("insert into post_shard_slots (slot, shard) values (?, ?)", rows);
+            return new Placement(initial);
+        }
+        for (int slot = 0; slot < owners.length; slot++) {
+            if (owners[slot] == null || !shards.containsKey(owners[slot])) {
+                throw new IllegalStateException("슬롯 " + slot + " 의 샤드 " + owners[slot] + " 가 설정에 없습니다.");
+            }
+        }
+        return new Placement(owners);
+    }
+
+    private static boolean isEmpty(String[] owners) {
+        for (String owner : owners) {
+            if (owner != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void bind(int slot) {
+        if (!sharded) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("쓰기는 트랜잭션 안에서 샤드를 정해야 합니다.");
+        }
+        Lock lock = slotLocks[slot].readLock();
+        lock.lock();
+        String owner = placement().ownerOfSlot(slot);
+        String current = CURRENT.get();
+        if (current != null && !current.equals(owner)) {
+            lock.unlock();
+            throw new IllegalStateException("이미 " + current + " 샤드를 쓰고 있어서 " + owner + " 샤드를 쓸 수 없습니다.");
+        }
+        boolean restore = current == null;
+        CURRENT.set(owner);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+                if (restore) {
+                    CURRENT.remove();
+                }
+            }
+        });
+    }
+
+    /**
+     * 어느 순간의 슬롯 배치입니다. 주인이 바뀔 때마다 새로 만들어지므로, 같은 객체인지로 그 사이에 바뀌었는지 압니다.
+     */
+    public static final class Placement {
+
+        private final String[] owners;
+
+        private Placement(String[] owners) {
+            this.owners = owners;
+        }
+
+        public String ownerOfSlot(int slot) {
+            return owners[slot];
+        }
+
+        public String ownerOfPost(long postId) {
+            return owners[PostSlots.ofPost(postId)];
+        }
+
+        public String ownerOfWriter(long writerId) {
+            return owners[PostSlots.ofWriter(writerId)];
+        }
+
+        /**
+         * 슬롯을 옮기는 동안에는 같은 게시물이 두 샤드에 있으므로, 주인인 샤드에서 읽은 것만 씁니다.
+         */
+        public boolean owns(String shard, long postId) {
+            return ownerOfPost(postId).equals(shard);
+        }
+
+        public Map<String, Integer> slotCounts() {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String owner : owners) {
+                counts.merge(owner, 1, Integer::sum);
+            }
+            return counts;
+        }
+
+        private Placement with(int slot, String shard) {
+            String[] changed = owners.clone();
+            changed[slot] = shard;
+            return new Placement(changed);
+        }
+    }
+}
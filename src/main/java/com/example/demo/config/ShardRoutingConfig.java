@@ -0,0 +1,146 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * app.shards.enabled=true 이면 spring.datasource 를 home 샤드로, app.shards.instances 를 나머지 샤드로 쓰는 라우팅 DataSource 를 만듭니다.
+ * home 샤드에는 모든 테이블이 있고, 나머지 샤드에는 posts 와 모든 샤드에 복사해 두는 users 만 만듭니다.
+ * 나누어 쓰지 않으면 모든 슬롯이 home 에 있는 {@link ShardRouting} 만 만듭니다.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardRoutingConfig {
+
+    private static final Set<String> CREATE_ACTIONS = Set.of("create", "create-drop");
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.shards.enabled", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(
+        DataSourceProperties dataSourceProperties,
+        ShardProperties properties,
+        JpaProperties jpaProperties,
+        HibernateProperties hibernateProperties,
+        MeterRegistry meterRegistry,
+        Environment environment) {
+        if (environment.getProperty("app.replicas.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("app.shards.enabled 와 app.replicas.enabled 는 함께 쓸 수 없습니다.");
+        }
+        // 자동 설정이 만드는 풀과 같은 spring.datasource.hikari.* 설정을 모든 샤드에 똑같이 적용한다.
+        HikariDataSource home = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(home));
+        home.setPoolName(ShardRouting.HOME);
+        home.setMetricRegistry(meterRegistry);
+
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        shards.put(ShardRouting.HOME, home);
+        for (ShardProperties.Instance instance : properties.getInstances()) {
+            if (shards.containsKey(instance.getName())) {
+                throw new IllegalStateException("샤드 이름이 겹칩니다: " + instance.getName());
+            }
+            HikariDataSource shard = new HikariDataSource();
+            home.copyStateTo(shard);
+            shard.setJdbcUrl(instance.getUrl());
+            shard.setUsername(instance.getUsername());
+            shard.setPassword(instance.getPassword());
+            shard.setPoolName(instance.getName());
+            shards.put(instance.getName(), shard);
+        }
+
+        Map<String, Object> hibernateSettings = hibernateProperties.determineHibernateProperties(
+            jpaProperties.getProperties(), new HibernateSettings().ddlAuto(() -> "none"));
+        if (jpaProperties.getDatabasePlatform() != null) {
+            hibernateSettings.put(AvailableSettings.DIALECT, jpaProperties.getDatabasePlatform());
+        }
+        for (Map.Entry<String, HikariDataSource> shard : shards.entrySet()) {
+            if (!shard.getKey().equals(ShardRouting.HOME)) {
+                applySchema(shard.getValue(), hibernateSettings);
+            }
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * 트랜잭션 매니저가 트랜잭션을 시작한 뒤 서비스가 샤드를 정하도록, 커넥션을 늦게 가져오는 프록시로 감쌉니다.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.shards.enabled", havingValue = "true")
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * open-in-view 로 요청 내내 열린 세션이 앞선 트랜잭션의 샤드 커넥션을 다음 트랜잭션에도 쓰지 않도록, 트랜잭션마다 커넥션을 돌려줍니다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.shards.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer releaseShardConnectionAfterTransaction() {
+        return hibernateProperties -> hibernateProperties.put(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ShardRouting shardRouting(
+        ShardProperties properties,
+        ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+        DataSource dataSource) {
+        ShardRoutingDataSource routingDataSource = shardRoutingDataSource.getIfAvailable();
+        if (routingDataSource == null) {
+            return ShardRouting.single(dataSource);
+        }
+        return new ShardRouting(new LinkedHashMap<String, DataSource>(routingDataSource.getShards()), properties.getVirtualNodes());
+    }
+
+    /**
+     * home 샤드의 스키마는 애플리케이션의 Hibernate 가 만들고, 나머지 샤드는 같은 설정으로 posts 와 users 만 만듭니다.
+     * 게시물 id 의 시퀀스 값은 home 의 posts_seq 에서만 받으므로, 다른 샤드의 posts_seq 는 쓰지 않습니다.
+     */
+    private static void applySchema(DataSource shard, Map<String, Object> hibernateSettings) {
+        Map<String, Object> settings = new LinkedHashMap<>(hibernateSettings);
+        Object action = settings.get(AvailableSettings.HBM2DDL_AUTO);
+        if (action != null && CREATE_ACTIONS.contains(action.toString())) {
+            // 스키마만 만들고 바로 닫으므로, 닫을 때 지우지 않게 한다.
+            settings.put(AvailableSettings.HBM2DDL_AUTO, "create");
+        }
+        settings.put(AvailableSettings.DATASOURCE, shard);
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        try {
+            new MetadataSources(registry)
+                .addAnnotatedClass(UserEntity.class)
+                .addAnnotatedClass(PostEntity.class)
+                .buildMetadata()
+                .buildSessionFactory()
+                .close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * {@link ShardRouting} 이 현재 스레드에 정한 샤드의 커넥션을 주는 DataSource 입니다.
+ * 서비스가 트랜잭션을 연 뒤에 샤드를 정하므로 LazyConnectionDataSourceProxy 뒤에 둡니다.
+ */
+public final class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<String, HikariDataSource> shards;
+
+    public ShardRoutingDataSource(Map<String, HikariDataSource> shards) {
+        this.shards = new LinkedHashMap<>(shards);
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(ShardRouting.HOME));
+        setLenientFallback(false);
+    }
+
+    public Map<String, HikariDataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardRouting.currentShard();
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
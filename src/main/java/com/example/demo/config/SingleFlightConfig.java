@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.example.demo.service.SingleFlight;
+import java.util.Optional;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<Long, Optional<UserEntity>> userLoads() {
+        return new SingleFlight<>("users");
+    }
+
+    @Bean
+    public SingleFlight<Long, PostEntity> postLoads() {
+        return new SingleFlight<>("posts");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 요청을 처리할 핸들러가 정해진 뒤에, 그 핸들러의 경로 패턴으로 SQL 문 예산을 찾아 {@link RequestStatements} 에 정합니다.
+ * 요청 URI 로 찾으면 /api/posts/{id} 가 /api/posts/export 같은 다른 핸들러의 요청에도 맞기 때문입니다.
+ */
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    private final Map<String, Integer> budgets = new HashMap<>();
+    private final Set<String> ignored = new HashSet<>();
+
+    public StatementBudgetInterceptor(StatementProperties properties) {
+        for (StatementProperties.Budget budget : properties.getBudgets().values()) {
+            budgets.put(budget.getMethod().toUpperCase() + " " + budget.getPath(), budget.getMaxStatements());
+        }
+        for (String endpoint : properties.getIgnored()) {
+            ignored.add(endpoint.trim());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatements statements = RequestStatements.current();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (statements == null || pattern == null) {
+            return true;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        if (ignored.contains(endpoint)) {
+            statements.ignore();
+            return true;
+        }
+        Integer maxStatements = budgets.get(endpoint);
+        if (maxStatements != null) {
+            statements.limit(endpoint, maxStatements);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * app.statements.enabled=true 이면 요청마다 실행한 SQL 을 세도록 DataSource 를 감쌉니다.
+ * 요청별 예산은 핸들러가 정해진 뒤에 {@link StatementBudgetInterceptor} 가 정합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.statements.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(StatementProperties.class)
+@RequiredArgsConstructor
+public class StatementCountingConfig implements WebMvcConfigurer {
+
+    private final StatementProperties statementProperties;
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // 라우팅 DataSource 는 그것을 감싼 dataSource 빈에서 한 번만 센다.
+                if (!(bean instanceof DataSource dataSource)
+                    || bean instanceof StatementCountingDataSource
+                    || bean instanceof ReplicaRoutingDataSource
+                    || bean instanceof ShardRoutingDataSource) {
+                    return bean;
+                }
+                return new StatementCountingDataSource(dataSource);
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StatementBudgetInterceptor(statementProperties));
+    }
+
+    /**
+     * 순서를 정하지 않은 커넥션 제한보다 먼저 감싸서, 커넥션 제한이 dataSource 빈의 가장 바깥에 남게 합니다.
+     */
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+
+        @Override
+        default int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 요청 스레드에서 실행한 SQL 을 {@link RequestStatements} 에 세는 DataSource 입니다.
+ * Hibernate 와 JdbcTemplate 이 같은 커넥션을 쓰므로 둘 다 셉니다. executeBatch 는 DB 왕복 한 번이므로 한 문으로 셉니다.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return count(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return count(super.getConnection(username, password));
+    }
+
+    private static Connection count(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String prepared ? prepared : null;
+                    return count(statement, sql);
+                }
+                return result;
+            });
+    }
+
+    private static Statement count(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        String[] batchSql = new String[1];
+        return (Statement) Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[]{type},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("addBatch") && args != null && args.length == 1 && batchSql[0] == null) {
+                    batchSql[0] = (String) args[0];
+                }
+                RequestStatements statements = RequestStatements.current();
+                if (statements == null || !name.startsWith("execute")) {
+                    return invoke(statement, method, args);
+                }
+                String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String executed ? executed
+                    : batchSql[0];
+                statements.beforeExecute(sql);
+                long startedAt = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    statements.afterExecute(sql, System.nanoTime() - startedAt);
+                }
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.statements")
+public class StatementProperties {
+
+    private boolean enabled = true;
+    /**
+     * 이보다 오래 걸린 SQL 은 요청 경로와 함께 로그에 남긴다.
+     */
+    private Duration slowThreshold = Duration.ofMillis(100);
+    /**
+     * 한 요청에서 같은 SQL 을 이만큼 실행하면 N+1 로 의심하고 로그에 남긴다.
+     */
+    private int duplicateThreshold = 3;
+    /**
+     * true 이면 예산을 넘는 SQL 을 실행하지 않고 요청을 실패시킨다. false 이면 로그만 남긴다.
+     */
+    private boolean failOnBudgetExceeded = false;
+    private Map<String, Budget> budgets = new LinkedHashMap<>();
+    /**
+     * 세지 않을 요청. "GET /api/posts/export" 처럼 메서드와 컨트롤러의 경로 패턴을 적는다.
+     * 일부러 SQL 을 여러 번 나눠 실행하는 요청을 적어서, 예산과 N+1 경고에서 뺀다.
+     */
+    private List<String> ignored = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private String method;
+        /**
+         * 컨트롤러의 경로 패턴. 요청 URI 가 아니라 요청을 처리할 핸들러의 패턴과 같은지 본다.
+         */
+        private String path;
+        /**
+         * 요청 하나가 실행할 수 있는 SQL 문 수.
+         */
+        private int maxStatements;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "user.cache")
+public class UserCacheProperties {
+
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+    /**
+     * 무효화된 뒤 이 시간 안에 읽어 온 값은 캐시하지 않는다. 레플리카에서 읽는다면 레플리카 허용 지연 이상이어야 한다.
+     */
+    private Duration staleReadWindow = Duration.ZERO;
+}
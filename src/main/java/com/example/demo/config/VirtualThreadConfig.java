@@ -0,0 +1,79 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * app.threads.virtual.enabled=true 이면 Tomcat 요청 처리를 가상 스레드에서 실행합니다.
+ * 컨트롤러가 호출하는 UserService, PostService 의 트랜잭션도 같은 요청 스레드에서 돌기 때문에 함께 가상 스레드 위에서 실행됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+    // Hikari 의 기본 풀 크기와 같다.
+    private static final int DEFAULT_CONNECTION_PERMITS = 10;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+        ObjectProvider<VirtualThreadProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // 라우팅 DataSource 는 그것을 감싼 dataSource 빈에서 한 번만 제한한다.
+                if (!(bean instanceof DataSource dataSource)
+                    || bean instanceof ConnectionLimitingDataSource
+                    || bean instanceof ReplicaRoutingDataSource
+                    || bean instanceof ShardRoutingDataSource) {
+                    return bean;
+                }
+                VirtualThreadProperties virtualThreadProperties = properties.getObject();
+                return new ConnectionLimitingDataSource(
+                    dataSource,
+                    connectionPermits(dataSource, virtualThreadProperties),
+                    virtualThreadProperties.getConnectionAcquireTimeout());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return meterRegistry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource connectionLimitingDataSource) {
+                Gauge.builder("jdbc.connections.permits.available", connectionLimitingDataSource,
+                        ConnectionLimitingDataSource::getAvailablePermits)
+                    .register(meterRegistry);
+                Gauge.builder("jdbc.connections.permits.waiting", connectionLimitingDataSource,
+                        ConnectionLimitingDataSource::getQueueLength)
+                    .register(meterRegistry);
+            }
+        };
+    }
+
+    private static int connectionPermits(DataSource dataSource, VirtualThreadProperties properties) {
+        if (properties.getConnectionPermits() > 0) {
+            return properties.getConnectionPermits();
+        }
+        // Hikari 는 풀이 뜨기 전까지 설정하지 않은 maximumPoolSize 를 -1 로 돌려준다.
+        if (dataSource instanceof HikariDataSource hikariDataSource && hikariDataSource.getMaximumPoolSize() > 0) {
+            return hikariDataSource.getMaximumPoolSize();
+        }
+        return DEFAULT_CONNECTION_PERMITS;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.threads.virtual")
+public class VirtualThreadProperties {
+
+    private boolean enabled = false;
+    /**
+     * 동시에 DB 커넥션을 잡을 수 있는 요청 수. 0 이하면 커넥션 풀 크기를 그대로 쓴다.
+     */
+    private int connectionPermits = 0;
+    private Duration connectionAcquireTimeout = Duration.ofSeconds(30);
+}
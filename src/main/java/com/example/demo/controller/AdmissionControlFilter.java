@@ -0,0 +1,183 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.AdmissionProperties;
+import com.example.demo.service.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 설정된 경로마다 클라이언트별 한도와 전체 한도를 토큰 버킷으로 확인하고, 넘친 요청은 DB 에 닿기 전에 429 로 돌려보냅니다.
+ * 클라이언트는 EMAIL 헤더로 구분하며, 헤더가 없으면 접속 주소로 구분합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String KEY_HEADER = "EMAIL";
+    static final String ADMISSION_REQUESTS = "admission.requests";
+
+    private final List<RouteLimiter> routeLimiters = new ArrayList<>();
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        for (Map.Entry<String, AdmissionProperties.Route> route : properties.getRoutes().entrySet()) {
+            routeLimiters.add(new RouteLimiter(route.getKey(), route.getValue(), properties, meterRegistry, nanoClock));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RouteLimiter routeLimiter = findRouteLimiter(request);
+        if (routeLimiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = routeLimiter.tryAdmit(clientKey(request), nanoClock.getAsLong());
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("요청이 너무 많습니다. " + retryAfterSeconds + "초 후에 다시 시도해 주세요.");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private RouteLimiter findRouteLimiter(HttpServletRequest request) {
+        PathContainer path = null;
+        for (RouteLimiter routeLimiter : routeLimiters) {
+            if (!routeLimiter.method.equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI());
+            }
+            if (routeLimiter.pattern.matches(path)) {
+                return routeLimiter;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String email = request.getHeader(KEY_HEADER);
+        return email != null && !email.isBlank() ? email : request.getRemoteAddr();
+    }
+
+    private static final class RouteLimiter {
+
+        private final String method;
+        private final PathPattern pattern;
+        private final AdmissionProperties.Limit perKeyLimit;
+        private final Cache<String, TokenBucket> perKey;
+        private final TokenBucket[] globalStripes;
+        private final Counter admitted;
+        private final Counter shedByKey;
+        private final Counter shedByGlobal;
+
+        RouteLimiter(
+            String name,
+            AdmissionProperties.Route route,
+            AdmissionProperties properties,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+            this.method = route.getMethod();
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPath());
+            this.perKeyLimit = route.getPerKey();
+            this.perKey = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getKeyIdleTimeout())
+                .build();
+            this.globalStripes = stripes(route.getGlobal(), nanoClock.getAsLong());
+            this.admitted = counter(meterRegistry, name, "admitted", "none");
+            this.shedByKey = counter(meterRegistry, name, "shed", "key");
+            this.shedByGlobal = counter(meterRegistry, name, "shed", "global");
+        }
+
+        long tryAdmit(String key, long nowNanos) {
+            TokenBucket keyBucket = perKey.get(key,
+                ignored -> new TokenBucket(perKeyLimit.getRate(), perKeyLimit.getBurst(), nowNanos));
+            long keyWait = keyBucket.tryAcquire(nowNanos);
+            if (keyWait > 0) {
+                shedByKey.increment();
+                return keyWait;
+            }
+            long globalWait = tryAcquireGlobal(nowNanos);
+            if (globalWait > 0) {
+                // 전체 한도에 걸린 요청 때문에 이 클라이언트의 몫이 줄지 않게 한다.
+                keyBucket.refund();
+                shedByGlobal.increment();
+                return globalWait;
+            }
+            admitted.increment();
+            return 0;
+        }
+
+        /**
+         * 스레드마다 다른 stripe 부터 시도해서 경합을 나누고, 모든 stripe 가 비었을 때만 거절합니다.
+         */
+        private long tryAcquireGlobal(long nowNanos) {
+            int start = ThreadLocalRandom.current().nextInt(globalStripes.length);
+            long minWait = Long.MAX_VALUE;
+            for (int i = 0; i < globalStripes.length; i++) {
+                long wait = globalStripes[(start + i) % globalStripes.length].tryAcquire(nowNanos);
+                if (wait == 0) {
+                    return 0;
+                }
+                minWait = Math.min(minWait, wait);
+            }
+            return minWait;
+        }
+
+        private static TokenBucket[] stripes(AdmissionProperties.Limit limit, long nowNanos) {
+            int count = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), limit.getBurst()));
+            TokenBucket[] stripes = new TokenBucket[count];
+            for (int i = 0; i < count; i++) {
+                // 나머지는 앞쪽 stripe 에 하나씩 얹어서 stripe 를 모두 합치면 설정한 burst 와 rate 가 되게 한다.
+                int burst = limit.getBurst() / count + (i < limit.getBurst() % count ? 1 : 0);
+                stripes[i] = new TokenBucket(limit.getRate() * burst / limit.getBurst(), burst, nowNanos);
+            }
+            return stripes;
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String route, String outcome, String limit) {
+            return Counter.builder(ADMISSION_REQUESTS)
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .tag("limit", limit)
+                .register(meterRegistry);
+        }
+    }
+}
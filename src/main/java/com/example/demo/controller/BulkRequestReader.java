@@ -0,0 +1,99 @@
+package com.example.demo.controller;
+
+import com.example.demo.exception.BulkImportFailedException;
+import com.example.demo.exception.InvalidBulkRequestException;
+import com.example.demo.model.dto.BulkItemResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * JSON 배열 요청 본문을 전부 메모리에 올리지 않고, 청크 단위로 읽어서 처리합니다.
+ * 형식이 맞지 않는 항목은 해당 항목만 거절하고 나머지는 계속 처리합니다.
+ */
+@Component
+public class BulkRequestReader {
+
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BulkRequestReader(ObjectMapper objectMapper, @Value("${bulk.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param handler 청크의 시작 인덱스와 청크를 받아 항목마다 하나씩 결과를 돌려줍니다.
+     *                변환에 실패한 항목은 null 로 전달되며, 그 결과는 변환 오류로 덮어씁니다.
+     */
+    public <T> List<BulkItemResult> readInChunks(
+        InputStream body,
+        Class<T> type,
+        BiFunction<Integer, List<T>, List<BulkItemResult>> handler) {
+        List<BulkItemResult> results = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBulkRequestException("요청 본문은 JSON 배열이어야 합니다.");
+            }
+            List<T> chunk = new ArrayList<>(chunkSize);
+            Map<Integer, String> conversionErrors = new HashMap<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new EOFException("배열이 끝나기 전에 본문이 끝났습니다.");
+                }
+                JsonNode item = objectMapper.readTree(parser);
+                try {
+                    chunk.add(objectMapper.treeToValue(item, type));
+                } catch (JsonProcessingException e) {
+                    conversionErrors.put(chunk.size(), e.getOriginalMessage());
+                    chunk.add(null);
+                }
+                if (chunk.size() == chunkSize) {
+                    results.addAll(handle(results, chunk, conversionErrors, handler));
+                    chunk = new ArrayList<>(chunkSize);
+                    conversionErrors = new HashMap<>();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(handle(results, chunk, conversionErrors, handler));
+            }
+        } catch (IOException e) {
+            throw new InvalidBulkRequestException(results.size(), created(results), e);
+        }
+        return results;
+    }
+
+    private <T> List<BulkItemResult> handle(
+        List<BulkItemResult> results,
+        List<T> chunk,
+        Map<Integer, String> conversionErrors,
+        BiFunction<Integer, List<T>, List<BulkItemResult>> handler) {
+        int offset = results.size();
+        List<BulkItemResult> chunkResults;
+        try {
+            chunkResults = new ArrayList<>(handler.apply(offset, chunk));
+        } catch (RuntimeException e) {
+            throw new BulkImportFailedException(offset, created(results), e);
+        }
+        conversionErrors.forEach((index, error) ->
+            chunkResults.set(index, BulkItemResult.rejected(offset + index, 400, error)));
+        return chunkResults;
+    }
+
+    private long created(List<BulkItemResult> results) {
+        return results.stream().filter(BulkItemResult::isCreated).count();
+    }
+}
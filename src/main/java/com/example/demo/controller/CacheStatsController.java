@@ -0,0 +1,50 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.dto.CacheStatsResponse;
+import com.example.demo.service.PostResponseCache;
+import com.example.demo.service.UserCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "캐시(caches)")
+@RestController
+@RequestMapping("/internal/caches")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final UserCache userCache;
+    private final PostResponseCache postResponseCache;
+
+    @GetMapping("/users")
+    public ResponseEntity<CacheStatsResponse> getUserCacheStats() {
+        CacheStats stats = userCache.stats();
+        CacheStatsResponse cacheStatsResponse = new CacheStatsResponse();
+        cacheStatsResponse.setSize(userCache.size());
+        cacheStatsResponse.setHitCount(stats.hitCount());
+        cacheStatsResponse.setMissCount(stats.missCount());
+        cacheStatsResponse.setHitRate(stats.hitRate());
+        cacheStatsResponse.setEvictionCount(stats.evictionCount());
+        return ResponseEntity
+            .ok()
+            .body(cacheStatsResponse);
+    }
+
+    @GetMapping("/post-responses")
+    public ResponseEntity<CacheStatsResponse> getPostResponseCacheStats() {
+        CacheStatsResponse cacheStatsResponse = new CacheStatsResponse();
+        cacheStatsResponse.setSize(postResponseCache.size());
+        cacheStatsResponse.setHitCount(postResponseCache.hitCount());
+        cacheStatsResponse.setMissCount(postResponseCache.missCount());
+        cacheStatsResponse.setHitRate(postResponseCache.hitRate());
+        cacheStatsResponse.setEvictionCount(postResponseCache.evictionCount());
+        cacheStatsResponse.setBytes(postResponseCache.bytes());
+        return ResponseEntity
+            .ok()
+            .body(cacheStatsResponse);
+    }
+}
@@ -1,10 +1,21 @@
 package com.example.demo.controller;
 
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 
+import com.example.demo.exception.BulkImportFailedException;
 import com.example.demo.exception.CertificationCodeNotMatchedException;
+import com.example.demo.exception.InvalidBulkRequestException;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.exception.InvalidMultiGetRequestException;
+import com.example.demo.exception.PostPreconditionFailedException;
+import com.example.demo.exception.PostVersionConflictException;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.exception.StatementBudgetExceededException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -32,4 +43,53 @@ public class ExceptionControllerAdvice {
         return exception.getMessage();
     }
 
+    @ResponseBody
+    @ResponseStatus(BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public String invalidCursorException(InvalidCursorException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseBody
+    @ResponseStatus(BAD_REQUEST)
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    public String invalidBulkRequestException(InvalidBulkRequestException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseBody
+    @ResponseStatus(BAD_REQUEST)
+    @ExceptionHandler(InvalidMultiGetRequestException.class)
+    public String invalidMultiGetRequestException(InvalidMultiGetRequestException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseBody
+    @ResponseStatus(CONFLICT)
+    @ExceptionHandler(PostVersionConflictException.class)
+    public String postVersionConflictException(PostVersionConflictException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseBody
+    @ResponseStatus(PRECONDITION_FAILED)
+    @ExceptionHandler(PostPreconditionFailedException.class)
+    public String postPreconditionFailedException(PostPreconditionFailedException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseBody
+    @ResponseStatus(INTERNAL_SERVER_ERROR)
+    @ExceptionHandler(BulkImportFailedException.class)
+    public String bulkImportFailedException(BulkImportFailedException exception) {
+        return exception.getMessage();
+    }
+
+    @ResponseBody
+    @ResponseStatus(INTERNAL_SERVER_ERROR)
+    @ExceptionHandler(StatementBudgetExceededException.class)
+    public String statementBudgetExceededException(StatementBudgetExceededException exception) {
+        return exception.getMessage();
+    }
+
 }
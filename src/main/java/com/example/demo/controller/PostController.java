@@ -1,18 +1,45 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.MultiGetProperties;
+import com.example.demo.exception.InvalidMultiGetRequestException;
+import com.example.demo.exception.PostPreconditionFailedException;
+import com.example.demo.model.MultiGetResult;
+import com.example.demo.model.PostCursor;
+import com.example.demo.model.PostSearchResult;
+import com.example.demo.model.PostSummary;
+import com.example.demo.model.ResourceVersion;
+import com.example.demo.model.dto.PostMultiGetResponse;
+import com.example.demo.model.dto.PostPageResponse;
 import com.example.demo.model.dto.PostResponse;
+import com.example.demo.model.dto.PostSearchResponse;
+import com.example.demo.model.dto.PostSummaryResponse;
+import com.example.demo.model.dto.PostTimelineResponse;
 import com.example.demo.model.dto.PostUpdateDto;
 import com.example.demo.repository.PostEntity;
+import com.example.demo.service.PostResponseCache;
+import com.example.demo.service.PostResponseCache.CachedPostResponse;
 import com.example.demo.service.PostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "게시물(posts)")
 @RestController
@@ -20,21 +47,180 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_WINDOW = 1000;
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
     private final PostService postService;
     private final UserController userController;
+    private final MultiGetProperties multiGetProperties;
+    private final PostResponseCache postResponseCache;
+    private final ObjectMapper objectMapper;
+    private final PostExportWriter postExportWriter;
+
+    @GetMapping
+    public ResponseEntity<PostPageResponse> getPosts(
+        @RequestParam(required = false) Long writerId,
+        @RequestParam(required = false) String after,
+        @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // 다음 페이지가 있는지 알기 위해 한 건을 더 읽는다.
+        List<PostEntity> postEntities = postService.getPostsBefore(writerId, PostCursor.decode(after), pageSize + 1);
+        boolean hasNext = postEntities.size() > pageSize;
+        if (hasNext) {
+            postEntities = postEntities.subList(0, pageSize);
+        }
+
+        PostPageResponse postPageResponse = new PostPageResponse();
+        postPageResponse.setPosts(postEntities.stream().map(this::toResponse).toList());
+        postPageResponse.setNextCursor(hasNext ? PostCursor.from(postEntities.get(pageSize - 1)).encode() : null);
+        return ResponseEntity
+            .ok()
+            .body(postPageResponse);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<PostMultiGetResponse> getPostsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > multiGetProperties.getMaxIds()) {
+            throw new InvalidMultiGetRequestException(ids.size(), multiGetProperties.getMaxIds());
+        }
+        MultiGetResult<PostEntity> multiGetResult = postService.getPostsByIds(ids);
+
+        PostMultiGetResponse postMultiGetResponse = new PostMultiGetResponse();
+        postMultiGetResponse.setPosts(multiGetResult.getFound().stream().map(this::toResponse).toList());
+        postMultiGetResponse.setMissingIds(multiGetResult.getMissingIds());
+        return ResponseEntity
+            .ok()
+            .body(postMultiGetResponse);
+    }
+
+    @GetMapping("/timeline")
+    public ResponseEntity<PostTimelineResponse> getTimeline(
+        @RequestParam long writerId,
+        @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<PostEntity> postEntities = postService.getRecentPostsByWriter(writerId, pageSize);
+
+        PostTimelineResponse postTimelineResponse = new PostTimelineResponse();
+        postTimelineResponse.setPosts(postEntities.stream().map(this::toResponse).toList());
+        return ResponseEntity
+            .ok()
+            .body(postTimelineResponse);
+    }
 
+    @GetMapping("/search")
+    public ResponseEntity<PostSearchResponse> searchPosts(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "0") int offset,
+        @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // 상위 k 를 고르는 비용은 offset + limit 에 비례하므로 너무 깊은 페이지는 막는다.
+        int pageOffset = Math.max(0, Math.min(offset, MAX_SEARCH_WINDOW - pageSize));
+        PostSearchResult postSearchResult = postService.searchPosts(q, pageOffset, pageSize);
+
+        PostSearchResponse postSearchResponse = new PostSearchResponse();
+        postSearchResponse.setPosts(postSearchResult.getPosts().stream().map(this::toResponse).toList());
+        postSearchResponse.setTotalHits(postSearchResult.getTotalHits());
+        return ResponseEntity
+            .ok()
+            .body(postSearchResponse);
+    }
+
+    /**
+     * 게시물을 NDJSON 으로 내보냅니다. 비동기 요청 시간 제한에 걸리지 않도록 요청 스레드에서 응답에 바로 씁니다.
+     */
+    @GetMapping("/export")
+    public void exportPosts(
+        @RequestParam(required = false) Long writerId,
+        HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        postExportWriter.write(writerId, response.getOutputStream());
+    }
+
+    /**
+     * JSON 응답은 직렬화한 바이트를 캐시해 두고, 적중하면 DB 를 읽지 않고 바이트를 그대로 씁니다.
+     * CBOR 나 Smile 을 요청하면 {@link #getPostBinaryById} 가 처리합니다.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponse> getPostById(@PathVariable long id) {
+    public ResponseEntity<byte[]> getPostById(@PathVariable long id, WebRequest webRequest)
+        throws JsonProcessingException {
+        CachedPostResponse cached = postResponseCache.get(id);
+        if (cached != null) {
+            if (webRequest.checkNotModified(cached.getETag(), cached.getLastModified())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.getJson());
+        }
+
+        long buildStartedAt = postResponseCache.startBuild();
+        // 버전을 본문보다 먼저 읽어서, 응답의 ETag 가 본문보다 새로운 경우는 생기지 않게 한다.
+        ResourceVersion version = postService.getVersion(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        PostEntity postEntity = postService.getPostById(id);
+        byte[] json = objectMapper.writeValueAsBytes(toResponse(postEntity));
+        postResponseCache.put(
+            id, postEntity.getWriter().getId(), buildStartedAt, version.getETag(), version.getLastModified(), json);
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(json);
+    }
+
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<PostResponse> getPostBinaryById(@PathVariable long id, WebRequest webRequest) {
+        ResourceVersion version = postService.getVersion(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity
             .ok()
             .body(toResponse(postService.getPostById(id)));
     }
 
+    /**
+     * 본문 없이 작성자와 시각만 돌려줍니다. 본문 컬럼은 읽지 않습니다.
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<PostSummaryResponse> getPostSummary(@PathVariable long id) {
+        PostSummary postSummary = postService.getPostSummary(id);
+        PostSummaryResponse postSummaryResponse = new PostSummaryResponse();
+        postSummaryResponse.setId(postSummary.getId());
+        postSummaryResponse.setWriterId(postSummary.getWriterId());
+        postSummaryResponse.setCreatedAt(postSummary.getCreatedAt());
+        postSummaryResponse.setModifiedAt(postSummary.getModifiedAt());
+        return ResponseEntity
+            .ok()
+            .body(postSummaryResponse);
+    }
+
+    /**
+     * If-Match 는 ETag 의 게시물 version 만 비교합니다. 나머지 값은 작성자의 정보라 이 수정이 덮어쓰는 본문과 상관이 없고,
+     * 함께 비교하면 작성자가 로그인할 때마다 수정이 412 로 실패합니다.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<PostResponse> updatePost(@PathVariable long id, @RequestBody PostUpdateDto postUpdateDto) {
+    public ResponseEntity<PostResponse> updatePost(
+        @PathVariable long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Valid @RequestBody PostUpdateDto postUpdateDto) {
+        PostEntity postEntity;
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            postEntity = postService.updatePost(id, postUpdateDto);
+        } else {
+            long expectedVersion = ResourceVersion.leadingPart(ifMatch)
+                .orElseThrow(() -> new PostPreconditionFailedException(id, ifMatch));
+            postEntity = postService.updatePost(id, expectedVersion, ifMatch, postUpdateDto);
+        }
+        ResourceVersion version = postService.getVersion(postEntity);
         return ResponseEntity
             .ok()
-            .body(toResponse(postService.updatePost(id, postUpdateDto)));
+            .eTag(version.getETag())
+            .lastModified(version.getLastModified())
+            .body(toResponse(postEntity));
     }
 
     public PostResponse toResponse(PostEntity postEntity) {
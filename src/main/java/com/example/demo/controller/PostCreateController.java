@@ -1,9 +1,13 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.dto.BulkItemResult;
 import com.example.demo.model.dto.PostCreateDto;
 import com.example.demo.model.dto.PostResponse;
 import com.example.demo.service.PostService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,11 +24,19 @@ public class PostCreateController {
 
     private final PostService postService;
     private final PostController postController;
+    private final BulkRequestReader bulkRequestReader;
 
     @PostMapping
-    public ResponseEntity<PostResponse> createPost(@RequestBody PostCreateDto postCreateDto) {
+    public ResponseEntity<PostResponse> createPost(@Valid @RequestBody PostCreateDto postCreateDto) {
         return ResponseEntity
             .status(HttpStatus.CREATED)
             .body(postController.toResponse(postService.createPost(postCreateDto)));
     }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BulkItemResult>> createPosts(InputStream body) {
+        return ResponseEntity
+            .ok()
+            .body(bulkRequestReader.readInChunks(body, PostCreateDto.class, postService::createPosts));
+    }
 }
\ No newline at end of file
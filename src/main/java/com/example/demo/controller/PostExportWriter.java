@@ -0,0 +1,62 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.PostCursor;
+import com.example.demo.model.PostExportRow;
+import com.example.demo.service.PostService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시물을 오래된 것부터 NDJSON(한 줄에 JSON 하나)으로 씁니다.
+ * 전체를 메모리에 올리지 않고 (created_at, id) 키셋으로 청크씩 읽어서 쓰고 흘려보내므로,
+ * 힙 사용량은 게시물 수가 아니라 청크 크기에 비례합니다.
+ */
+@Component
+public class PostExportWriter {
+
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public PostExportWriter(
+        PostService postService,
+        ObjectMapper objectMapper,
+        @Value("${post.export.chunk-size:500}") int chunkSize) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param writerId null 이면 모든 게시물을, 아니면 해당 작성자의 게시물만 씁니다.
+     * @return 쓴 게시물 수
+     */
+    public long write(Long writerId, OutputStream out) throws IOException {
+        long written = 0;
+        PostCursor cursor = PostCursor.OLDEST;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 줄 사이에 공백을 넣지 않고, 줄바꿈은 직접 쓴다.
+            generator.setRootValueSeparator(null);
+            while (true) {
+                // 청크를 읽는 동안만 커넥션을 쓰고, 쓰는 동안에는 반납해 둔다.
+                List<PostExportRow> chunk = postService.getExportChunkAfter(writerId, cursor, chunkSize);
+                for (PostExportRow row : chunk) {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                }
+                written += chunk.size();
+                generator.flush();
+                if (chunk.size() < chunkSize) {
+                    return written;
+                }
+                PostExportRow last = chunk.get(chunk.size() - 1);
+                cursor = new PostCursor(last.getCreatedAt(), last.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.ReadYourWrites;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 요청마다 클라이언트를 알려 주어서, 쓰기를 커밋한 클라이언트의 이어지는 읽기가 레플리카 지연 때문에 옛 값을 보지 않게 합니다.
+ * 클라이언트는 EMAIL 헤더로 구분하며, 헤더가 없으면 접속 주소로 구분합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.replicas.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String KEY_HEADER = "EMAIL";
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        readYourWrites.begin(clientKey(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String email = request.getHeader(KEY_HEADER);
+        return email != null && !email.isBlank() ? email : request.getRemoteAddr();
+    }
+}
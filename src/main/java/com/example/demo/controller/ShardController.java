@@ -0,0 +1,38 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.dto.ShardRebalanceResponse;
+import com.example.demo.model.dto.ShardStatusResponse;
+import com.example.demo.service.ShardRebalancer;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "샤드(shards)")
+@RestController
+@RequestMapping("/internal/shards")
+@RequiredArgsConstructor
+public class ShardController {
+
+    private final ShardRebalancer shardRebalancer;
+
+    @GetMapping
+    public ResponseEntity<ShardStatusResponse> getShardStatus() {
+        return ResponseEntity
+            .ok()
+            .body(shardRebalancer.status());
+    }
+
+    /**
+     * 해시 링이 정한 샤드와 지금 샤드가 다른 슬롯을 모두 옮깁니다. 옮기는 동안에도 읽기와 쓰기를 받습니다.
+     */
+    @PostMapping("/rebalance")
+    public ResponseEntity<ShardRebalanceResponse> rebalance() {
+        return ResponseEntity
+            .ok()
+            .body(shardRebalancer.rebalance());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.RequestStatements;
+import com.example.demo.config.StatementBudgetInterceptor;
+import com.example.demo.config.StatementProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 요청마다 실행한 SQL 을 세어서 요청 경로별 지표로 남기고, 느린 SQL 과 N+1 로 의심되는 반복 SQL 을 경로와 함께 로그에 남깁니다.
+ * 예산을 정한 경로는 예산을 넘으면 로그를 남기거나, 설정에 따라 넘는 SQL 을 실행하기 전에 요청을 실패시킵니다.
+ * 예산은 핸들러가 정해진 뒤에 {@link StatementBudgetInterceptor} 가 핸들러의 경로 패턴으로 찾습니다.
+ * 센 SQL 수는 요청 속성 {@link #STATEMENT_COUNT_ATTRIBUTE} 에도 남겨서 테스트가 확인할 수 있게 합니다.
+ * 내보내기처럼 app.statements.ignored 에 적은 요청은 지표와 로그에 남기지 않습니다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_ATTRIBUTE = StatementBudgetFilter.class.getName() + ".count";
+
+    static final String REQUEST_STATEMENTS = "http.server.requests.statements";
+
+    private final StatementProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(StatementProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.begin(
+            request.getMethod() + " " + request.getRequestURI(), properties);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements.end();
+            if (!statements.isIgnored()) {
+                request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements.getCount());
+                report(request, statements);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestStatements statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(REQUEST_STATEMENTS)
+            .description("요청 하나가 실행한 SQL 문 수")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(statements.getCount());
+
+        String endpoint = request.getMethod() + " " + (pattern != null ? uri : request.getRequestURI());
+        if (statements.isOverBudget()) {
+            log.warn("{} 요청이 SQL {}개를 실행해서 예산 {}개를 넘었습니다.",
+                endpoint, statements.getCount(), statements.getMaxStatements());
+        }
+        for (Map.Entry<String, Integer> duplicate : statements.duplicates(properties.getDuplicateThreshold()).entrySet()) {
+            log.warn("{} 요청이 같은 SQL 을 {}번 실행했습니다. N+1 인지 확인하세요: {}",
+                endpoint, duplicate.getValue(), duplicate.getKey());
+        }
+        for (String slowStatement : statements.getSlowStatements()) {
+            log.warn("{} 요청의 느린 SQL: {}", endpoint, slowStatement);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.MultiGetProperties;
+import com.example.demo.exception.InvalidMultiGetRequestException;
+import com.example.demo.model.MultiGetResult;
+import com.example.demo.model.ResourceVersion;
 import com.example.demo.model.dto.MyProfileResponse;
+import com.example.demo.model.dto.UserMultiGetResponse;
 import com.example.demo.model.dto.UserResponse;
 import com.example.demo.model.dto.UserUpdateDto;
 import com.example.demo.repository.UserEntity;
@@ -9,6 +14,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.net.URI;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "유저(users)")
 @RestController
@@ -29,10 +36,31 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
 
     private final UserService userService;
+    private final MultiGetProperties multiGetProperties;
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<UserMultiGetResponse> getUsersByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > multiGetProperties.getMaxIds()) {
+            throw new InvalidMultiGetRequestException(ids.size(), multiGetProperties.getMaxIds());
+        }
+        MultiGetResult<UserEntity> multiGetResult = userService.getUsersByIds(ids);
+
+        UserMultiGetResponse userMultiGetResponse = new UserMultiGetResponse();
+        userMultiGetResponse.setUsers(multiGetResult.getFound().stream().map(this::toResponse).toList());
+        userMultiGetResponse.setMissingIds(multiGetResult.getMissingIds());
+        return ResponseEntity
+            .ok()
+            .body(userMultiGetResponse);
+    }
 
     @ResponseStatus
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable long id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable long id, WebRequest webRequest) {
+        // 버전을 본문보다 먼저 읽어서, 응답의 ETag 가 본문보다 새로운 경우는 생기지 않게 한다.
+        ResourceVersion version = userService.getVersion(id);
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         return ResponseEntity
             .ok()
             .body(toResponse(userService.getByIdOrElseThrow(id)));
@@ -80,7 +108,7 @@ public class UserController {
         userResponse.setEmail(userEntity.getEmail());
         userResponse.setNickname(userEntity.getNickname());
         userResponse.setStatus(userEntity.getStatus());
-        userResponse.setLastLoginAt(userEntity.getLastLoginAt());
+        userResponse.setLastLoginAt(userService.getLastLoginAt(userEntity));
         return userResponse;
     }
 
@@ -91,7 +119,7 @@ public class UserController {
         myProfileResponse.setNickname(userEntity.getNickname());
         myProfileResponse.setStatus(userEntity.getStatus());
         myProfileResponse.setAddress(userEntity.getAddress());
-        myProfileResponse.setLastLoginAt(userEntity.getLastLoginAt());
+        myProfileResponse.setLastLoginAt(userService.getLastLoginAt(userEntity));
         return myProfileResponse;
     }
 }
\ No newline at end of file
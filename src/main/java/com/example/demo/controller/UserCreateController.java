@@ -1,10 +1,15 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.dto.BulkItemResult;
 import com.example.demo.model.dto.UserCreateDto;
 import com.example.demo.model.dto.UserResponse;
-import com.example.demo.repository.UserEntity;
+import com.example.demo.model.UserStatus;
+import com.example.demo.repository.PendingUserEntity;
 import com.example.demo.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.io.InputStream;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,15 +24,31 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class UserCreateController {
 
-    private final UserController userController;
     private final UserService userService;
+    private final BulkRequestReader bulkRequestReader;
 
     @PostMapping
-    public ResponseEntity<UserResponse> createUser(@RequestBody UserCreateDto userCreateDto) {
-        UserEntity userEntity = userService.createUser(userCreateDto);
+    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserCreateDto userCreateDto) {
+        PendingUserEntity pendingUserEntity = userService.createUser(userCreateDto);
         return ResponseEntity
             .status(HttpStatus.CREATED)
-            .body(userController.toResponse(userEntity));
+            .body(toResponse(pendingUserEntity));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BulkItemResult>> createUsers(InputStream body) {
+        return ResponseEntity
+            .ok()
+            .body(bulkRequestReader.readInChunks(body, UserCreateDto.class, userService::createUsers));
+    }
+
+    private UserResponse toResponse(PendingUserEntity pendingUserEntity) {
+        UserResponse userResponse = new UserResponse();
+        userResponse.setId(pendingUserEntity.getId());
+        userResponse.setEmail(pendingUserEntity.getEmail());
+        userResponse.setNickname(pendingUserEntity.getNickname());
+        userResponse.setStatus(UserStatus.PENDING);
+        return userResponse;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.demo.exception;
+
+public class BulkImportFailedException extends RuntimeException {
+
+    public BulkImportFailedException(int processed, long created, Throwable cause) {
+        super("일괄 등록이 중단되었습니다. 앞의 " + processed + "건을 처리했고 그중 " + created + "건이 저장되었습니다: "
+            + cause.getMessage(), cause);
+    }
+}
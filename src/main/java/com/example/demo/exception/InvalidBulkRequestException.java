@@ -0,0 +1,13 @@
+package com.example.demo.exception;
+
+public class InvalidBulkRequestException extends RuntimeException {
+
+    public InvalidBulkRequestException(int processed, long created, Throwable cause) {
+        super("요청 본문을 읽을 수 없습니다. 앞의 " + processed + "건을 처리했고 그중 " + created + "건이 저장되었습니다: "
+            + cause.getMessage(), cause);
+    }
+
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("올바르지 않은 커서입니다: " + cursor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.exception;
+
+public class InvalidMultiGetRequestException extends RuntimeException {
+
+    public InvalidMultiGetRequestException(int requested, int maxIds) {
+        super("한 번에 조회할 수 있는 id 는 " + maxIds + "개까지입니다. 요청한 id 는 " + requested + "개입니다.");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.exception;
+
+public class PostPreconditionFailedException extends RuntimeException {
+
+    public PostPreconditionFailedException(long id, String ifMatch) {
+        super("Posts에서 ID " + id + "의 현재 버전이 If-Match 와 맞지 않습니다: " + ifMatch);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.exception;
+
+public class PostVersionConflictException extends RuntimeException {
+
+    public PostVersionConflictException(long id) {
+        super("Posts에서 ID " + id + "가 다른 요청에 의해 먼저 수정되었습니다.");
+    }
+}
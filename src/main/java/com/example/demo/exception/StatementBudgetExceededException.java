@@ -0,0 +1,8 @@
+package com.example.demo.exception;
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(String endpoint, int maxStatements) {
+        super(endpoint + " 요청이 SQL 문 예산 " + maxStatements + "개를 넘었습니다.");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * 요청한 id 순서대로 찾은 항목과, 찾지 못한 id 를 함께 담습니다. 중복된 id 는 처음 나온 자리에 한 번만 담습니다.
+ */
+@Getter
+public class MultiGetResult<T> {
+
+    private final List<T> found;
+    private final List<Long> missingIds;
+
+    public MultiGetResult(List<T> found, List<Long> missingIds) {
+        this.found = found;
+        this.missingIds = missingIds;
+    }
+
+    public static <T> MultiGetResult<T> ordered(Collection<Long> ids, Map<Long, T> byId) {
+        List<T> found = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T item = byId.get(id);
+            if (item == null) {
+                missingIds.add(id);
+            } else {
+                found.add(item);
+            }
+        }
+        return new MultiGetResult<>(found, missingIds);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.model;
+
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.repository.PostEntity;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.Getter;
+
+/**
+ * (created_at, id) 기준 keyset 페이지네이션의 위치입니다. 클라이언트에는 불투명한 문자열로 전달됩니다.
+ */
+@Getter
+public class PostCursor {
+
+    public static final PostCursor FIRST = new PostCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+    /**
+     * 오래된 것부터 읽을 때의 시작 위치입니다.
+     */
+    public static final PostCursor OLDEST = new PostCursor(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final long createdAt;
+    private final long id;
+
+    public PostCursor(long createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static PostCursor from(PostEntity postEntity) {
+        return new PostCursor(postEntity.getCreatedAt(), postEntity.getId());
+    }
+
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new PostCursor(
+                Long.parseLong(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
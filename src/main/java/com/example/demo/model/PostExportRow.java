@@ -0,0 +1,24 @@
+package com.example.demo.model;
+
+import lombok.Getter;
+
+/**
+ * 내보내기 한 줄에 들어가는 게시물 값입니다. 작성자는 id 만 담아서, 내보낼 때 유저를 읽지 않습니다.
+ */
+@Getter
+public class PostExportRow {
+
+    private final long id;
+    private final long writerId;
+    private final String content;
+    private final Long createdAt;
+    private final Long modifiedAt;
+
+    public PostExportRow(long id, long writerId, String content, Long createdAt, Long modifiedAt) {
+        this.id = id;
+        this.writerId = writerId;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.modifiedAt = modifiedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.model;
+
+import lombok.Getter;
+
+/**
+ * 게시물이 만들어진 뒤로 바뀌지 않는 값입니다. 캐시에 오래 두어도 낡지 않습니다.
+ */
+@Getter
+public class PostHeader {
+
+    private final long id;
+    private final long createdAt;
+    private final long writerId;
+
+    public PostHeader(long id, long createdAt, long writerId) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.writerId = writerId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.model;
+
+import com.example.demo.repository.PostEntity;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public class PostSearchResult {
+
+    private final List<PostEntity> posts;
+    private final int totalHits;
+
+    public PostSearchResult(List<PostEntity> posts, int totalHits) {
+        this.posts = posts;
+        this.totalHits = totalHits;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.model;
+
+import lombok.Getter;
+
+/**
+ * 본문을 뺀 게시물 정보입니다. 본문 컬럼을 읽지도 풀지도 않습니다.
+ */
+@Getter
+public class PostSummary {
+
+    private final long id;
+    private final long writerId;
+    private final Long createdAt;
+    private final Long modifiedAt;
+
+    public PostSummary(long id, long writerId, Long createdAt, Long modifiedAt) {
+        this.id = id;
+        this.writerId = writerId;
+        this.createdAt = createdAt;
+        this.modifiedAt = modifiedAt;
+    }
+}
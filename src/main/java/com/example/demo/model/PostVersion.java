@@ -0,0 +1,32 @@
+package com.example.demo.model;
+
+import lombok.Getter;
+
+/**
+ * 게시물 응답이 바뀌었는지 판단하는 데 필요한 컬럼만 모은 projection 입니다. 응답에 작성자가 포함되므로 작성자 버전도 함께 읽습니다.
+ */
+@Getter
+public class PostVersion {
+
+    private final long id;
+    private final Long createdAt;
+    private final Long modifiedAt;
+    private final Long version;
+    private final UserVersion writer;
+
+    public PostVersion(
+        long id,
+        Long createdAt,
+        Long modifiedAt,
+        Long version,
+        long writerId,
+        Long writerVersion,
+        Long writerModifiedAt,
+        Long writerLastLoginAt) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.modifiedAt = modifiedAt;
+        this.version = version;
+        this.writer = new UserVersion(writerId, writerVersion, writerModifiedAt, writerLastLoginAt);
+    }
+}
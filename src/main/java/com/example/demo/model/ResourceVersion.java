@@ -0,0 +1,63 @@
+package com.example.demo.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * 조건부 GET 에 쓰는 ETag 와 Last-Modified 입니다.
+ * ETag 는 응답에 영향을 주는 값들로 만들고, Last-Modified 는 그중 가장 최근 시각입니다.
+ */
+@Getter
+public class ResourceVersion {
+
+    private final String eTag;
+    private final long lastModified;
+
+    private ResourceVersion(String eTag, long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public static ResourceVersion of(long lastModified, Long... parts) {
+        String eTag = Arrays.stream(parts)
+            .map(part -> part == null ? "-" : Long.toHexString(part))
+            .collect(Collectors.joining(".", "\"", "\""));
+        return new ResourceVersion(eTag, lastModified);
+    }
+
+    /**
+     * 이 클래스가 만든 ETag 의 첫 번째 값을 돌려줍니다. 게시물 ETag 에서는 게시물의 version 입니다.
+     * If-Match 는 강한 비교를 하므로 약한 ETag 나 여러 ETag 의 목록처럼 이 형식이 아니면 비어 있습니다.
+     */
+    public static OptionalLong leadingPart(String eTag) {
+        String value = eTag.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return OptionalLong.empty();
+        }
+        String[] parts = value.substring(1, value.length() - 1).split("\\.", -1);
+        try {
+            for (int i = 1; i < parts.length; i++) {
+                if (!parts[i].equals("-")) {
+                    Long.parseUnsignedLong(parts[i], 16);
+                }
+            }
+            return OptionalLong.of(Long.parseLong(parts[0], 16));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * 값이 하나도 없으면 -1 을 돌려주며, 이 경우 Last-Modified 는 비교하지 않습니다.
+     */
+    public static long latest(Long... timestamps) {
+        return Arrays.stream(timestamps)
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .max()
+            .orElse(-1);
+    }
+}
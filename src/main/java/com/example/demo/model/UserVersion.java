@@ -0,0 +1,31 @@
+package com.example.demo.model;
+
+import com.example.demo.repository.UserEntity;
+import lombok.Getter;
+
+/**
+ * 유저 응답이 바뀌었는지 판단하는 데 필요한 컬럼만 모은 projection 입니다. 엔티티를 읽지 않고 조회합니다.
+ */
+@Getter
+public class UserVersion {
+
+    private final long id;
+    private final Long version;
+    private final Long modifiedAt;
+    private final Long lastLoginAt;
+
+    public UserVersion(long id, Long version, Long modifiedAt, Long lastLoginAt) {
+        this.id = id;
+        this.version = version;
+        this.modifiedAt = modifiedAt;
+        this.lastLoginAt = lastLoginAt;
+    }
+
+    public static UserVersion from(UserEntity userEntity) {
+        return new UserVersion(
+            userEntity.getId(),
+            userEntity.getVersion(),
+            userEntity.getModifiedAt(),
+            userEntity.getLastLoginAt());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.ConstraintViolation;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+@Getter
+public class BulkItemResult {
+
+    private final int index;
+    private final int status;
+    private final Long id;
+    private final String error;
+
+    private BulkItemResult(int index, int status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BulkItemResult created(int index, long id) {
+        return new BulkItemResult(index, 201, id, null);
+    }
+
+    public static BulkItemResult rejected(int index, int status, String error) {
+        return new BulkItemResult(index, status, null, error);
+    }
+
+    public static BulkItemResult invalid(int index, Set<? extends ConstraintViolation<?>> violations) {
+        return rejected(index, 400, violations.stream()
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .collect(Collectors.joining(", ")));
+    }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return status == 201;
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.demo.model.dto;
 
+import com.example.demo.repository.PostEntity;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 public class PostCreateDto {
 
+    @Positive
     private final long writerId;
+    @NotBlank
+    @Size(max = PostEntity.MAX_CONTENT_LENGTH)
     private final String content;
 
     @Builder
@@ -0,0 +1,13 @@
+package com.example.demo.model.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PostMultiGetResponse {
+
+    private List<PostResponse> posts;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,13 @@
+package com.example.demo.model.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PostSearchResponse {
+
+    private List<PostResponse> posts;
+    private int totalHits;
+}
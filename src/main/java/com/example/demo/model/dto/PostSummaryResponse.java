@@ -0,0 +1,14 @@
+package com.example.demo.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PostSummaryResponse {
+
+    private Long id;
+    private Long writerId;
+    private Long createdAt;
+    private Long modifiedAt;
+}
@@ -0,0 +1,12 @@
+package com.example.demo.model.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PostTimelineResponse {
+
+    private List<PostResponse> posts;
+}
@@ -1,12 +1,15 @@
 package com.example.demo.model.dto;
 
+import com.example.demo.repository.PostEntity;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 public class PostUpdateDto {
 
+    @Size(max = PostEntity.MAX_CONTENT_LENGTH)
     private final String content;
 
     @Builder
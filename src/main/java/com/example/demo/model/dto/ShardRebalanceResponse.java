@@ -0,0 +1,13 @@
+package com.example.demo.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ShardRebalanceResponse {
+
+    private int movedSlots;
+    private long movedPosts;
+    private long tookMillis;
+}
@@ -0,0 +1,15 @@
+package com.example.demo.model.dto;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ShardStatusResponse {
+
+    private boolean sharded;
+    private Map<String, Integer> slots;
+    private Map<String, Integer> targetSlots;
+    private int pendingSlots;
+}
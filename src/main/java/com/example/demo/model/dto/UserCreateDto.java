@@ -1,12 +1,16 @@
 package com.example.demo.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 public class UserCreateDto {
 
+    @NotBlank
+    @Email
     private final String email;
     private final String nickname;
     private final String address;
@@ -0,0 +1,70 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * 긴 문자열은 LZ4 로 압축한 바이트로 저장합니다.
+ * 첫 바이트로 형식을 구분합니다. {@link #RAW} 는 UTF-8 그대로이고, {@link #LZ4} 는 원래 길이(4바이트) 뒤에 압축한 블록이 옵니다.
+ * 짧거나 압축해도 줄지 않는 문자열은 압축하지 않습니다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final byte RAW = 0;
+    public static final byte LZ4 = 1;
+    // 이보다 짧으면 압축해도 헤더만큼도 줄지 않는 경우가 많다.
+    private static final int MIN_COMPRESS_BYTES = 128;
+    private static final int LZ4_HEADER_BYTES = 1 + Integer.BYTES;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return text == null ? null : encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return stored == null ? null : decode(stored);
+    }
+
+    public static byte[] encode(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            byte[] compressed = new byte[LZ4_HEADER_BYTES + COMPRESSOR.maxCompressedLength(utf8.length)];
+            int compressedLength = COMPRESSOR.compress(utf8, 0, utf8.length, compressed, LZ4_HEADER_BYTES);
+            if (LZ4_HEADER_BYTES + compressedLength < 1 + utf8.length) {
+                ByteBuffer.wrap(compressed).put(LZ4).putInt(utf8.length);
+                return Arrays.copyOf(compressed, LZ4_HEADER_BYTES + compressedLength);
+            }
+        }
+        byte[] raw = new byte[1 + utf8.length];
+        raw[0] = RAW;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored.length == 0) {
+            throw new IllegalArgumentException("저장된 값에 형식 바이트가 없습니다.");
+        }
+        return switch (stored[0]) {
+            case RAW -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case LZ4 -> {
+                int length = ByteBuffer.wrap(stored, 1, Integer.BYTES).getInt();
+                byte[] utf8 = new byte[length];
+                DECOMPRESSOR.decompress(stored, LZ4_HEADER_BYTES, utf8, 0, length);
+                yield new String(utf8, StandardCharsets.UTF_8);
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 형식입니다: " + stored[0]);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from MailOutboxEntity m where m.status = :status and m.nextAttemptAt <= :now order by m.id")
+    List<MailOutboxEntity> findDueForUpdate(
+        @Param("status") MailOutboxStatus status,
+        @Param("now") long now,
+        Pageable pageable);
+}
@@ -0,0 +1,48 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 이메일 인증을 기다리는 가입 신청입니다. 인증하면 같은 id 로 users 에 옮겨지고, 만료되면 지워집니다.
+ * id 는 users 와 같은 시퀀스에서 받아서, 인증 링크의 id 가 그대로 유저 id 가 됩니다.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "pending_users", indexes = {
+    @Index(name = "idx_pending_users_expires_at", columnList = "expires_at")
+})
+public class PendingUserEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pending_users_seq_generator")
+    @SequenceGenerator(name = "pending_users_seq_generator", sequenceName = "users_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "nickname")
+    private String nickname;
+
+    @Column(name = "address")
+    private String address;
+
+    @Column(name = "certification_code")
+    private String certificationCode;
+
+    @Column(name = "created_at")
+    private Long createdAt;
+
+    @Column(name = "expires_at")
+    private Long expiresAt;
+}
@@ -0,0 +1,29 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PendingUserRepository extends JpaRepository<PendingUserEntity, Long> {
+
+    /**
+     * 같은 신청을 동시에 인증해도 한 번만 옮겨지도록 행을 잠그고 읽습니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from PendingUserEntity p where p.id = :id")
+    Optional<PendingUserEntity> findByIdForUpdate(@Param("id") long id);
+
+    @Query("select p.id from PendingUserEntity p where p.expiresAt < :now order by p.expiresAt")
+    List<Long> findExpiredIds(@Param("now") long now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from PendingUserEntity p where p.id in :ids and p.expiresAt < :now")
+    int deleteExpiredByIdIn(@Param("ids") Collection<Long> ids, @Param("now") long now);
+}
@@ -1,27 +1,53 @@
 package com.example.demo.repository;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_posts_user_id_created_at_id", columnList = "user_id, created_at, id")
+})
 public class PostEntity {
 
+    public static final int MAX_CONTENT_BYTES = 1_000_000;
+    /**
+     * 압축되지 않는 본문도 컬럼에 들어가는 글자 수입니다. 압축하지 않으면 형식 바이트 하나와 UTF-8 그대로 저장하는데,
+     * UTF-8 은 글자 하나에 최대 3바이트(서로게이트 쌍은 두 글자에 4바이트)를 씁니다.
+     */
+    public static final int MAX_CONTENT_LENGTH = (MAX_CONTENT_BYTES - 1) / 3;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "posts_seq_generator")
+    @GenericGenerator(name = "posts_seq_generator", strategy = "com.example.demo.repository.ShardedPostIdGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "posts_seq"),
+            @Parameter(name = "increment_size", value = "50")
+        })
     private Long id;
 
-    @Column(name = "content")
+    /**
+     * 압축해서 저장하고, 처음 꺼낼 때 읽습니다. 본문이 필요한 조회는 엔티티 그래프로 함께 읽습니다.
+     */
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content", length = MAX_CONTENT_BYTES)
     private String content;
 
     @Column(name = "created_at")
@@ -34,4 +60,8 @@ public class PostEntity {
     @JoinColumn(name = "user_id")
     private UserEntity writer;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
 }
\ No newline at end of file
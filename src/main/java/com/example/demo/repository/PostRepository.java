@@ -1,7 +1,125 @@
 package com.example.demo.repository;
 
+import com.example.demo.model.PostExportRow;
+import com.example.demo.model.PostHeader;
+import com.example.demo.model.PostSummary;
+import com.example.demo.model.PostVersion;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 선언한 조회 메서드도 읽기 전용 트랜잭션에서 실행해서, 레플리카를 쓰면 레플리카에서 읽게 합니다.
+ */
+@Transactional(readOnly = true)
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
-}
\ No newline at end of file
+    @Query("select new com.example.demo.model.PostVersion("
+        + "p.id, p.createdAt, p.modifiedAt, p.version, w.id, w.version, w.modifiedAt, w.lastLoginAt)"
+        + " from PostEntity p join p.writer w where p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") long id);
+
+    /**
+     * 엔티티를 돌려주는 조회 중 응답을 만드는 데 쓰는 것은, LAZY 인 본문까지 entity graph 로 한 번에 읽습니다.
+     */
+    @EntityGraph(attributePaths = "content")
+    @Query("select p from PostEntity p join fetch p.writer where p.id = :id")
+    Optional<PostEntity> findWithContentById(@Param("id") long id);
+
+    /**
+     * 본문 컬럼은 읽지 않습니다.
+     */
+    @Query("select new com.example.demo.model.PostSummary(p.id, p.writer.id, p.createdAt, p.modifiedAt)"
+        + " from PostEntity p where p.id = :id")
+    Optional<PostSummary> findSummaryById(@Param("id") long id);
+
+    @EntityGraph(attributePaths = "content")
+    @Query("select p from PostEntity p join fetch p.writer where p.id in :ids")
+    List<PostEntity> findAllWithWriterByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 작성자 타임라인 링을 채울 때 씁니다. 레플리카 지연으로 빠진 게시물은 링에 계속 빠져 있게 되므로 primary 에서 읽습니다.
+     */
+    @Transactional
+    @Query("select p.id from PostEntity p where p.writer.id = :writerId order by p.id desc")
+    List<Long> findRecentIdsByWriterId(@Param("writerId") long writerId, Pageable pageable);
+
+    @Query("select new com.example.demo.model.PostHeader(p.id, p.createdAt, p.writer.id)"
+        + " from PostEntity p where p.id = :id")
+    Optional<PostHeader> findHeaderById(@Param("id") long id);
+
+    /**
+     * 읽은 버전이 그대로일 때만 내용을 바꿉니다. 바뀐 행 수가 0 이면 그 사이에 다른 수정이 있었거나 게시물이 없는 것입니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("update PostEntity p set p.content = :content, p.modifiedAt = :modifiedAt, p.version = p.version + 1"
+        + " where p.id = :id and p.version = :version")
+    int updateContentIfVersion(
+        @Param("id") long id,
+        @Param("version") long version,
+        @Param("content") String content,
+        @Param("modifiedAt") long modifiedAt);
+
+    @EntityGraph(attributePaths = "content")
+    @Query("select p from PostEntity p join fetch p.writer"
+        + " where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)"
+        + " order by p.createdAt desc, p.id desc")
+    List<PostEntity> findPageBefore(
+        @Param("createdAt") long createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+
+    @EntityGraph(attributePaths = "content")
+    @Query("select p from PostEntity p join fetch p.writer"
+        + " where p.writer.id = :writerId"
+        + " and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))"
+        + " order by p.createdAt desc, p.id desc")
+    List<PostEntity> findPageByWriterBefore(
+        @Param("writerId") long writerId,
+        @Param("createdAt") long createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+
+    /**
+     * 내보내기용으로 (created_at, id) 오름차순 다음 페이지를 엔티티 없이 읽습니다.
+     * 드라이버가 결과를 한 번에 다 가져오지 않고 fetch size 만큼씩 가져오게 합니다.
+     */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.demo.model.PostExportRow(p.id, p.writer.id, p.content, p.createdAt, p.modifiedAt)"
+        + " from PostEntity p"
+        + " where p.createdAt > :createdAt or (p.createdAt = :createdAt and p.id > :id)"
+        + " order by p.createdAt, p.id")
+    List<PostExportRow> findExportPageAfter(
+        @Param("createdAt") long createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.demo.model.PostExportRow(p.id, p.writer.id, p.content, p.createdAt, p.modifiedAt)"
+        + " from PostEntity p"
+        + " where p.writer.id = :writerId"
+        + " and (p.createdAt > :createdAt or (p.createdAt = :createdAt and p.id > :id))"
+        + " order by p.createdAt, p.id")
+    List<PostExportRow> findExportPageByWriterAfter(
+        @Param("writerId") long writerId,
+        @Param("createdAt") long createdAt,
+        @Param("id") long id,
+        Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 슬롯마다 지금 그 게시물을 가진 샤드입니다. 샤드를 나누어 쓸 때만 home 샤드에 채웁니다.
+ * 라우팅 중에 JPA 를 거치지 않도록 ShardRouting 이 JDBC 로 읽고 씁니다.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "post_shard_slots")
+public class PostShardSlotEntity {
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    @Column(name = "shard", nullable = false, length = 64)
+    private String shard;
+}
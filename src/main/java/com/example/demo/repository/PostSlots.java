@@ -0,0 +1,37 @@
+package com.example.demo.repository;
+
+/**
+ * 게시물을 샤드에 나누는 단위인 슬롯을 계산합니다.
+ * 작성자 id 를 해시해서 슬롯을 정하므로 한 작성자의 게시물은 모두 같은 슬롯에 있고, 게시물 id 의 아래 비트에 그 슬롯을 담습니다.
+ * 슬롯 수는 id 에 들어가므로 데이터가 생긴 뒤에는 바꿀 수 없습니다. 샤드를 늘릴 때는 슬롯을 샤드 사이에서 옮깁니다.
+ */
+public final class PostSlots {
+
+    public static final int SLOT_BITS = 10;
+    public static final int SLOTS = 1 << SLOT_BITS;
+
+    private PostSlots() {
+    }
+
+    public static int ofWriter(long writerId) {
+        return (int) (mix(writerId) & (SLOTS - 1));
+    }
+
+    public static int ofPost(long postId) {
+        return (int) (postId & (SLOTS - 1));
+    }
+
+    public static long postId(long sequenceValue, int slot) {
+        return (sequenceValue << SLOT_BITS) | slot;
+    }
+
+    /**
+     * SplitMix64 의 마무리 단계입니다. 연속된 id 도 슬롯과 해시 링 위에 고르게 흩어지게 합니다.
+     */
+    public static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.repository;
+
+import com.example.demo.config.ShardRouting;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.internal.FallbackBeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * posts_seq 에서 받은 값 뒤에 작성자의 슬롯을 붙여서 게시물 id 를 만듭니다.
+ * id 만 보고도 게시물이 있는 샤드를 찾을 수 있고, 슬롯을 다른 샤드로 옮겨도 id 는 그대로 씁니다.
+ * 샤드를 나누면 시퀀스 값은 항상 home 샤드의 posts_seq 에서 받아서, 어느 샤드에 쓰든 id 가 겹치지 않고 작성 순서대로 커집니다.
+ */
+public class ShardedPostIdGenerator extends SequenceStyleGenerator {
+
+    private static final BeanContainer.LifecycleOptions EXISTING_BEAN = new BeanContainer.LifecycleOptions() {
+        @Override
+        public boolean canUseCachedReferences() {
+            return true;
+        }
+
+        @Override
+        public boolean useJpaCompliantCreation() {
+            return false;
+        }
+    };
+
+    private volatile ShardRouting shardRouting;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        ShardRouting routing = shardRouting(session);
+        Object value = routing.isSharded()
+            ? getOptimizer().generate(homeSequence(routing, session))
+            : super.generate(session, object);
+        PostEntity postEntity = (PostEntity) object;
+        return PostSlots.postId(((Number) value).longValue(), PostSlots.ofWriter(postEntity.getWriter().getId()));
+    }
+
+    private AccessCallback homeSequence(ShardRouting routing, SharedSessionContractImplementor session) {
+        JdbcTemplate home = new JdbcTemplate(routing.getShards().get(ShardRouting.HOME));
+        String nextValueSql = session.getJdbcServices().getDialect().getSequenceSupport()
+            .getSequenceNextValString(getDatabaseStructure().getPhysicalName().render());
+        return new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                IntegralDataTypeHolder holder = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class);
+                holder.initialize(home.queryForObject(nextValueSql, Long.class));
+                return holder;
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * 새로 만들지 않고 스프링 컨텍스트에 있는 빈을 받도록, 캐시한 참조를 쓰고 JPA 방식으로 만들지 않는 옵션으로 꺼냅니다.
+     */
+    private ShardRouting shardRouting(SharedSessionContractImplementor session) {
+        ShardRouting routing = shardRouting;
+        if (routing == null) {
+            BeanContainer beanContainer = session.getFactory().getServiceRegistry()
+                .getService(ManagedBeanRegistry.class)
+                .getBeanContainer();
+            routing = beanContainer.getBean(ShardRouting.class, EXISTING_BEAN, FallbackBeanInstanceProducer.INSTANCE)
+                .getBeanInstance();
+            shardRouting = routing;
+        }
+        return routing;
+    }
+}
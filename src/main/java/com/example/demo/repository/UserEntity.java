@@ -8,7 +8,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -19,7 +21,8 @@ import lombok.Setter;
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq_generator")
+    @SequenceGenerator(name = "users_seq_generator", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "email")
@@ -38,6 +41,17 @@ public class UserEntity {
     @Enumerated(EnumType.STRING)
     private UserStatus status;
 
-    @Column(name = "last_login_at")
+    /**
+     * {@link com.example.demo.service.LastLoginBuffer} 만 씁니다. 버전을 올리지 않는 그 UPDATE 가
+     * 읽기와 저장 사이에 끼어들어도 엔티티를 저장하면서 읽을 때의 값으로 되돌리지 않도록 UPDATE 에서 뺍니다.
+     */
+    @Column(name = "last_login_at", updatable = false)
     private Long lastLoginAt;
+
+    @Column(name = "modified_at")
+    private Long modifiedAt;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
\ No newline at end of file
@@ -1,12 +1,41 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.UserStatus;
+import com.example.demo.model.UserVersion;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * 선언한 조회 메서드도 읽기 전용 트랜잭션에서 실행해서, 레플리카를 쓰면 레플리카에서 읽게 합니다.
+ * 서비스가 연 쓰기 트랜잭션 안에서 호출되면 그 트랜잭션에 참여하므로 primary 에서 읽습니다.
+ */
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
     Optional<UserEntity> findByIdAndStatus(long id, UserStatus userStatus);
 
     Optional<UserEntity> findByEmailAndStatus(String email, UserStatus userStatus);
+
+    List<UserEntity> findAllByIdInAndStatus(Collection<Long> ids, UserStatus userStatus);
+
+    @Query("select new com.example.demo.model.UserVersion(u.id, u.version, u.modifiedAt, u.lastLoginAt)"
+        + " from UserEntity u where u.id = :id and u.status = :status")
+    Optional<UserVersion> findVersionByIdAndStatus(@Param("id") long id, @Param("status") UserStatus userStatus);
+
+    /**
+     * 인증된 가입 신청을 같은 id 의 ACTIVE 유저로 넣습니다. id 를 시퀀스에서 새로 받지 않도록 직접 insert 합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "insert into users"
+        + " (id, email, nickname, address, certification_code, status, modified_at, version)"
+        + " values (:#{#pendingUser.id}, :#{#pendingUser.email}, :#{#pendingUser.nickname}, :#{#pendingUser.address},"
+        + " :#{#pendingUser.certificationCode}, 'ACTIVE', :modifiedAt, 0)")
+    int insertActive(@Param("pendingUser") PendingUserEntity pendingUser, @Param("modifiedAt") long modifiedAt);
 }
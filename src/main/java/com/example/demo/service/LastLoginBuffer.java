@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인 시각을 유저별로 모아 두었다가 주기적으로 한 번의 배치 UPDATE 로 반영합니다.
+ * 같은 유저의 로그인이 여러 번 들어오면 가장 최근 시각만 남습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LastLoginBuffer {
+
+    private static final String UPDATE_LAST_LOGIN_AT =
+        "update users set last_login_at = ? where id = ? and (last_login_at is null or last_login_at < ?)";
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final UserCache userCache;
+    private final ShardUserReplicator shardUserReplicator;
+
+    public void record(long userId, long lastLoginAt) {
+        pending.merge(userId, lastLoginAt, Math::max);
+    }
+
+    public Long get(long userId) {
+        return pending.get(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_AT, batch);
+        shardUserReplicator.applyToOtherShards(UPDATE_LAST_LOGIN_AT, batch);
+
+        for (Object[] row : batch) {
+            long userId = (Long) row[1];
+            // 캐시를 먼저 갱신해야 버퍼에서 빠진 직후에 낡은 캐시 값을 읽는 틈이 생기지 않는다.
+            // 무효화하지 않으므로 자주 로그인하는 유저도 캐시에서 빠지지 않는다.
+            userCache.updateLastLoginAt(userId, (Long) row[0]);
+            // 그 사이에 더 최근 로그인이 기록되었다면 다음 주기에 반영되도록 남겨 둔다.
+            pending.remove(userId, row[0]);
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import com.example.demo.config.MailOutboxProperties;
+import com.example.demo.repository.MailOutboxEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    static final String MAIL_SEND_TIMER = "mail.send";
+    static final String MAIL_SEND_FAILURES = "mail.send.failures";
+
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSender mailSender;
+    private final MailOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter failures;
+    private final ThreadPoolTaskExecutor executor;
+
+    public MailOutboxDispatcher(
+        MailOutboxService mailOutboxService,
+        JavaMailSender mailSender,
+        MailOutboxProperties properties,
+        MeterRegistry meterRegistry) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.failures = Counter.builder(MAIL_SEND_FAILURES)
+            .description("발송에 실패한 인증 메일 수")
+            .register(meterRegistry);
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setThreadNamePrefix("mail-outbox-");
+        this.executor.setCorePoolSize(properties.getWorkers());
+        this.executor.setMaxPoolSize(properties.getWorkers());
+        this.executor.setQueueCapacity(properties.getQueueCapacity());
+        this.executor.setWaitForTasksToCompleteOnShutdown(true);
+        this.executor.setAwaitTerminationSeconds(30);
+        this.executor.initialize();
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        // 워커와 큐에 남은 자리만큼만 선점해서, 선점해 놓고 버려지는 배치가 없도록 한다.
+        int freeSlots = freeSlots();
+        for (int i = 0; i < freeSlots; i++) {
+            List<MailOutboxEntity> batch = mailOutboxService.claimDue(properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                executor.execute(() -> send(batch));
+            } catch (TaskRejectedException e) {
+                // 빈 자리 계산은 추정치라서 거절될 수 있다. lease 를 풀어 다음 폴링에서 바로 다시 가져가게 한다.
+                mailOutboxService.release(batch.stream().map(MailOutboxEntity::getId).toList());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 한 번의 {@link JavaMailSender#send(SimpleMailMessage...)} 호출은 하나의 SMTP 연결로 배치 전체를 보냅니다.
+     */
+    void send(List<MailOutboxEntity> batch) {
+        Map<Object, Long> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutboxEntity mailOutboxEntity = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mailOutboxEntity.getRecipient());
+            message.setSubject(mailOutboxEntity.getSubject());
+            message.setText(mailOutboxEntity.getText());
+            messages[i] = message;
+            ids.put(message, mailOutboxEntity.getId());
+        }
+
+        try {
+            sendAndRecord(messages);
+            mailOutboxService.markSent(ids.values());
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                markAllFailed(ids, e);
+                return;
+            }
+            log.warn("인증 메일 {}건 중 {}건 발송에 실패하였습니다.", ids.size(), failedMessages.size(), e);
+            failures.increment(failedMessages.size());
+            List<Long> sent = new ArrayList<>();
+            ids.forEach((message, id) -> {
+                Exception failure = failedMessages.get(message);
+                if (failure == null) {
+                    sent.add(id);
+                } else {
+                    mailOutboxService.markFailed(id, failure.getMessage());
+                }
+            });
+            mailOutboxService.markSent(sent);
+        } catch (RuntimeException e) {
+            markAllFailed(ids, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * SMTP 지연이 DB 지연과 구분되도록, 메일 발송 시간만 따로 잽니다.
+     */
+    private void sendAndRecord(SimpleMailMessage[] messages) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            mailSender.send(messages);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer(MAIL_SEND_TIMER, "outcome", outcome));
+        }
+    }
+
+    private void markAllFailed(Map<Object, Long> ids, Exception e) {
+        log.warn("인증 메일 {}건 발송에 실패하였습니다.", ids.size(), e);
+        failures.increment(ids.size());
+        for (Long id : ids.values()) {
+            mailOutboxService.markFailed(id, e.getMessage());
+        }
+    }
+
+    private int freeSlots() {
+        ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
+        int idleWorkers = Math.max(0, properties.getWorkers() - threadPoolExecutor.getActiveCount());
+        return idleWorkers + threadPoolExecutor.getQueue().remainingCapacity();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import com.example.demo.config.MailOutboxProperties;
+import com.example.demo.model.MailOutboxStatus;
+import com.example.demo.repository.MailOutboxEntity;
+import com.example.demo.repository.MailOutboxRepository;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailOutboxProperties properties;
+
+    /**
+     * 호출한 쪽의 트랜잭션 안에서 발송 대기 메일을 기록합니다.
+     * 실제 발송은 {@link MailOutboxDispatcher} 가 커밋 이후에 처리합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public MailOutboxEntity enqueue(String recipient, String subject, String text) {
+        long now = Clock.systemUTC().millis();
+        MailOutboxEntity mailOutboxEntity = new MailOutboxEntity();
+        mailOutboxEntity.setRecipient(recipient);
+        mailOutboxEntity.setSubject(subject);
+        mailOutboxEntity.setText(text);
+        mailOutboxEntity.setStatus(MailOutboxStatus.PENDING);
+        mailOutboxEntity.setCreatedAt(now);
+        mailOutboxEntity.setNextAttemptAt(now);
+        return mailOutboxRepository.save(mailOutboxEntity);
+    }
+
+    /**
+     * 발송 시점이 된 메일을 선점합니다. 선점된 메일은 lease 시간 동안 다시 조회되지 않으므로,
+     * 발송 도중 프로세스가 죽더라도 lease 가 끝나면 재시도됩니다.
+     */
+    @Transactional
+    public List<MailOutboxEntity> claimDue(int limit) {
+        long now = Clock.systemUTC().millis();
+        List<MailOutboxEntity> due = mailOutboxRepository.findDueForUpdate(
+            MailOutboxStatus.PENDING, now, PageRequest.of(0, limit));
+        for (MailOutboxEntity mailOutboxEntity : due) {
+            mailOutboxEntity.setNextAttemptAt(now + properties.getLeaseMs());
+        }
+        return due;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        long now = Clock.systemUTC().millis();
+        for (MailOutboxEntity mailOutboxEntity : mailOutboxRepository.findAllById(ids)) {
+            mailOutboxEntity.setStatus(MailOutboxStatus.SENT);
+            mailOutboxEntity.setSentAt(now);
+            mailOutboxEntity.setLastError(null);
+        }
+    }
+
+    @Transactional
+    public void release(Collection<Long> ids) {
+        long now = Clock.systemUTC().millis();
+        for (MailOutboxEntity mailOutboxEntity : mailOutboxRepository.findAllById(ids)) {
+            mailOutboxEntity.setNextAttemptAt(now);
+        }
+    }
+
+    @Transactional
+    public void markFailed(long id, String error) {
+        mailOutboxRepository.findById(id).ifPresent(mailOutboxEntity -> {
+            int attempts = mailOutboxEntity.getAttempts() + 1;
+            mailOutboxEntity.setAttempts(attempts);
+            mailOutboxEntity.setLastError(abbreviate(error));
+            if (attempts >= properties.getMaxAttempts()) {
+                mailOutboxEntity.setStatus(MailOutboxStatus.FAILED);
+                return;
+            }
+            mailOutboxEntity.setNextAttemptAt(Clock.systemUTC().millis() + backoff(attempts));
+        });
+    }
+
+    private long backoff(int attempts) {
+        long backoff = properties.getInitialBackoffMs() << Math.min(attempts - 1, 20);
+        return Math.min(backoff, properties.getMaxBackoffMs());
+    }
+
+    private String abbreviate(String error) {
+        if (error == null || error.length() <= 1000) {
+            return error;
+        }
+        return error.substring(0, 1000);
+    }
+}
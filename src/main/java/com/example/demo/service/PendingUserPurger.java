@@ -0,0 +1,47 @@
+package com.example.demo.service;
+
+import com.example.demo.config.PendingUserProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료된 가입 신청을 주기적으로 지웁니다. 배치마다 짧은 트랜잭션을 따로 써서, 쌓인 행이 많아도 잠금을 오래 잡지 않습니다.
+ */
+@Slf4j
+@Component
+public class PendingUserPurger {
+
+    static final String PENDING_USERS_PURGED = "user.pending.purged";
+
+    private final UserService userService;
+    private final PendingUserProperties properties;
+    private final Counter purged;
+
+    public PendingUserPurger(UserService userService, PendingUserProperties properties, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.properties = properties;
+        this.purged = Counter.builder(PENDING_USERS_PURGED)
+            .description("만료되어 지운 가입 신청 수")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user.pending.purge-interval-ms:60000}")
+    public int purge() {
+        int total = 0;
+        for (int i = 0; i < properties.getPurgeMaxBatches(); i++) {
+            int deleted = userService.purgeExpiredPendingUsers(properties.getPurgeBatchSize());
+            purged.increment(deleted);
+            total += deleted;
+            if (deleted < properties.getPurgeBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("만료된 가입 신청 {} 건을 지웠습니다.", total);
+        }
+        return total;
+    }
+}
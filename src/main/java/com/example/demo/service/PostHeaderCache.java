@@ -0,0 +1,39 @@
+package com.example.demo.service;
+
+import com.example.demo.model.PostHeader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시물의 생성 시각과 작성자처럼 바뀌지 않는 값만 담는 캐시입니다. 값이 바뀌지 않으므로 무효화할 필요가 없습니다.
+ * If-Match 로 수정할 때 조건부 UPDATE 하나만으로 응답을 만들 수 있게 해 줍니다.
+ */
+@Component
+public class PostHeaderCache {
+
+    private final Cache<Long, PostHeader> byId;
+
+    public PostHeaderCache(@Value("${post.header-cache.maximum-size:100000}") long maximumSize) {
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    public Optional<PostHeader> get(long id, Supplier<Optional<PostHeader>> loader) {
+        PostHeader cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<PostHeader> loaded = loader.get();
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public void put(PostHeader postHeader) {
+        byId.put(postHeader.getId(), postHeader);
+    }
+}
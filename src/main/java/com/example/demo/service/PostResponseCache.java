@@ -0,0 +1,186 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 게시물 응답을 직렬화한 JSON 바이트와 그때의 ETag 를 게시물 id 별로 담는 캐시입니다. 적중하면 DB, 엔티티, DTO 없이 바이트를 그대로 씁니다.
+ * 캐시는 바이트 수로 크기를 제한합니다.
+ * 게시물이나 작성자가 바뀌면 바뀐 시각만 기록하고, 꺼낼 때 그 시각이 응답을 만들기 시작한 시각보다 늦으면 버립니다.
+ * 그래서 작성자 한 명이 바뀌어도 그 작성자의 게시물을 찾아다닐 필요가 없습니다.
+ * 바뀐 시각은 응답보다 오래 보관하므로, 기록이 만료되었다면 그 전에 만든 응답도 이미 만료된 뒤입니다.
+ */
+@Component
+public class PostResponseCache implements MeterBinder {
+
+    // 응답을 만드는 데 걸리는 시간보다 넉넉히 길게 잡아서, 바뀐 시각 기록이 그 전에 만든 응답보다 먼저 만료되지 않게 한다.
+    private static final Duration CHANGE_RETENTION_MARGIN = Duration.ofMinutes(1);
+    // 키, 값 객체, ETag 와 캐시 노드를 합친 대략의 크기.
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final Cache<Long, CachedPostResponse> byPostId;
+    private final Cache<Long, Long> postChangedAt;
+    private final Cache<Long, Long> writerChangedAt;
+    private final long staleReadWindowNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PostResponseCache(
+        @Value("${post.response-cache.maximum-bytes:67108864}") long maximumBytes,
+        @Value("${post.response-cache.ttl:5m}") Duration ttl,
+        @Value("${post.response-cache.stale-read-window:0s}") Duration staleReadWindow) {
+        this.byPostId = Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Long postId, CachedPostResponse cached) -> cached.weight())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.postChangedAt = Caffeine.newBuilder()
+            .expireAfterWrite(ttl.plus(CHANGE_RETENTION_MARGIN))
+            .build();
+        this.writerChangedAt = Caffeine.newBuilder()
+            .expireAfterWrite(ttl.plus(CHANGE_RETENTION_MARGIN))
+            .build();
+        this.staleReadWindowNanos = staleReadWindow.toNanos();
+    }
+
+    /**
+     * 응답을 만들기 전에 부릅니다. 돌려준 값을 {@link #put} 에 넘기면, 그 뒤에 바뀐 게시물이나 작성자의 응답은 캐시에서 쓰이지 않습니다.
+     */
+    public long startBuild() {
+        return System.nanoTime();
+    }
+
+    public CachedPostResponse get(long postId) {
+        CachedPostResponse cached = byPostId.getIfPresent(postId);
+        if (cached != null && !isFresh(cached)) {
+            byPostId.asMap().remove(postId, cached);
+            cached = null;
+        }
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    public void put(long postId, long writerId, long buildStartedAt, String eTag, long lastModified, byte[] json) {
+        CachedPostResponse cached = new CachedPostResponse(postId, writerId, buildStartedAt, eTag, lastModified, json);
+        if (isFresh(cached)) {
+            byPostId.put(postId, cached);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 있다면 커밋 이후에 한 번 더 기록해서, 커밋 전에 읽어 만든 응답이 쓰이지 않게 합니다.
+     */
+    public void invalidatePost(long postId) {
+        markChanged(postChangedAt, postId);
+    }
+
+    public void invalidateWriter(long writerId) {
+        markChanged(writerChangedAt, writerId);
+    }
+
+    public long size() {
+        return byPostId.estimatedSize();
+    }
+
+    public long bytes() {
+        return byPostId.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    void cleanUp() {
+        byPostId.cleanUp();
+    }
+
+    public long evictionCount() {
+        return byPostId.stats().evictionCount();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long requests = hits.sum() + misses.sum();
+        return requests == 0 ? 1.0 : (double) hits.sum() / requests;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("post.response.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("post.response.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("post.response.cache.hit.ratio", this, PostResponseCache::hitRate)
+            .register(meterRegistry);
+        Gauge.builder("post.response.cache.size", this, PostResponseCache::size)
+            .register(meterRegistry);
+        Gauge.builder("post.response.cache.bytes", this, PostResponseCache::bytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    private boolean isFresh(CachedPostResponse cached) {
+        // 레플리카에서 읽었다면 만들기 시작하기 조금 전의 변경도 아직 안 보였을 수 있다.
+        long readAsOf = cached.buildStartedAt - staleReadWindowNanos;
+        return isUnchangedSince(postChangedAt.getIfPresent(cached.postId), readAsOf)
+            && isUnchangedSince(writerChangedAt.getIfPresent(cached.writerId), readAsOf);
+    }
+
+    private static boolean isUnchangedSince(Long changedAt, long readAsOf) {
+        return changedAt == null || changedAt - readAsOf < 0;
+    }
+
+    private static void markChanged(Cache<Long, Long> changedAt, long id) {
+        changedAt.put(id, System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    changedAt.put(id, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    @Getter
+    public static final class CachedPostResponse {
+
+        private final long postId;
+        private final long writerId;
+        private final long buildStartedAt;
+        private final String eTag;
+        private final long lastModified;
+        private final byte[] json;
+
+        private CachedPostResponse(
+            long postId, long writerId, long buildStartedAt, String eTag, long lastModified, byte[] json) {
+            this.postId = postId;
+            this.writerId = writerId;
+            this.buildStartedAt = buildStartedAt;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.json = json;
+        }
+
+        private int weight() {
+            return ENTRY_OVERHEAD_BYTES + json.length + 2 * eTag.length();
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시물 본문에 대한 메모리 역색인입니다. 결과는 BM25 점수 순으로 상위 k 개만 돌려줍니다.
+ * 색인할 때마다 새 문서 번호를 붙이므로 posting list 는 항상 뒤에만 붙고, 문서 번호의 간격과 빈도를 varint 로 적어 작게 유지합니다.
+ * 수정된 게시물의 이전 문서는 지운 것으로 표시만 해 두었다가, 지운 문서가 절반을 넘으면 번호를 다시 매겨 압축합니다.
+ */
+@Component
+public class PostSearchIndex implements MeterBinder {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, PostingList> postings = new HashMap<>();
+    private LongIntMap docByPost = new LongIntMap();
+    private long[] postIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private BitSet deleted = new BitSet();
+    private int docCount;
+    private int deletedCount;
+    private long liveLength;
+
+    /**
+     * 게시물을 색인합니다. 이미 색인된 게시물이면 이전 내용을 대신합니다.
+     */
+    public void index(long postId, String content) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(postId, content);
+            if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount * 2 > docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인을 비우고 loader 가 넘겨주는 (게시물 id, 본문) 으로 다시 만듭니다. 그동안 검색과 색인은 기다립니다.
+     */
+    public void rebuild(Consumer<BiConsumer<Long, String>> loader) {
+        lock.writeLock().lock();
+        try {
+            postings = new HashMap<>();
+            docByPost = new LongIntMap();
+            postIds = new long[1024];
+            lengths = new int[1024];
+            deleted = new BitSet();
+            docCount = 0;
+            deletedCount = 0;
+            liveLength = 0;
+            loader.accept(this::indexLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int k) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, term -> {
+            if (terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term);
+            }
+        });
+        if (terms.isEmpty() || k <= 0) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveCount = docCount - deletedCount;
+            double averageLength = liveCount == 0 ? 1 : Math.max(1, (double) liveLength / liveCount);
+            List<Cursor> cursors = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList != null) {
+                    Cursor cursor = new Cursor(postingList, idf(postingList.documentFrequency, liveCount));
+                    if (cursor.next()) {
+                        cursors.add(cursor);
+                    }
+                }
+            }
+
+            // 문서 번호 순으로 모든 posting list 를 함께 훑으므로, 문서별 점수를 모아 둘 배열이 필요 없다.
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(k + 1);
+            int totalHits = 0;
+            while (!cursors.isEmpty()) {
+                int docId = Integer.MAX_VALUE;
+                for (Cursor cursor : cursors) {
+                    docId = Math.min(docId, cursor.docId);
+                }
+                double score = 0;
+                for (int i = cursors.size() - 1; i >= 0; i--) {
+                    Cursor cursor = cursors.get(i);
+                    if (cursor.docId != docId) {
+                        continue;
+                    }
+                    score += cursor.score(lengths[docId], averageLength);
+                    if (!cursor.next()) {
+                        cursors.remove(i);
+                    }
+                }
+                if (deleted.get(docId)) {
+                    continue;
+                }
+                totalHits++;
+                if (top.size() < k) {
+                    top.add(new ScoredDoc(docId, score));
+                } else if (top.peek().isWorseThan(docId, score)) {
+                    top.poll();
+                    top.add(new ScoredDoc(docId, score));
+                }
+            }
+
+            Long[] ranked = new Long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = postIds[top.poll().docId];
+            }
+            return new SearchHits(Arrays.asList(ranked), totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * posting list, 용어 사전, 문서 배열이 차지하는 대략적인 힙 크기입니다.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) postIds.length * Long.BYTES + (long) lengths.length * Integer.BYTES
+                + deleted.size() / Byte.SIZE + docByPost.estimatedBytes();
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                // HashMap 엔트리, String, PostingList 객체 헤더를 대략 더한다.
+                bytes += 32 + 40 + entry.getKey().length() + 40 + entry.getValue().bytes.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("search.index.documents", this, PostSearchIndex::size)
+            .register(meterRegistry);
+        Gauge.builder("search.index.bytes", this, PostSearchIndex::estimatedBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 소문자로 바꾼 뒤 글자와 숫자가 아닌 문자로 나눕니다. 나눈 용어 수를 돌려줍니다.
+     */
+    static int tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return 0;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int count = 0;
+        int start = -1;
+        int i = 0;
+        while (i <= lower.length()) {
+            int codePoint = i < lower.length() ? lower.codePointAt(i) : -1;
+            if (codePoint != -1 && Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) {
+                    sink.accept(lower.substring(start, i));
+                    count++;
+                }
+                start = -1;
+            }
+            i += codePoint == -1 ? 1 : Character.charCount(codePoint);
+        }
+        return count;
+    }
+
+    private void indexLocked(long postId, String content) {
+        int previous = docByPost.get(postId);
+        if (previous >= 0 && !deleted.get(previous)) {
+            deleted.set(previous);
+            deletedCount++;
+            liveLength -= lengths[previous];
+        }
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        int length = tokenize(content, term -> termFrequencies.merge(term, 1, Integer::sum));
+        int docId = docCount++;
+        if (docId == postIds.length) {
+            postIds = Arrays.copyOf(postIds, docId * 2);
+            lengths = Arrays.copyOf(lengths, docId * 2);
+        }
+        postIds[docId] = postId;
+        lengths[docId] = length;
+        liveLength += length;
+        docByPost.put(postId, docId);
+        termFrequencies.forEach((term, frequency) ->
+            postings.computeIfAbsent(term, key -> new PostingList()).add(docId, frequency));
+    }
+
+    /**
+     * 지운 문서를 posting list 에서 빼고, 남은 문서에 순서를 유지한 채 0 부터 번호를 다시 붙입니다.
+     */
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        long[] compactedPostIds = new long[Math.max(1024, docCount - deletedCount)];
+        int[] compactedLengths = new int[compactedPostIds.length];
+        LongIntMap compactedDocByPost = new LongIntMap();
+        int live = 0;
+        for (int docId = 0; docId < docCount; docId++) {
+            if (deleted.get(docId)) {
+                renumbered[docId] = -1;
+                continue;
+            }
+            renumbered[docId] = live;
+            compactedPostIds[live] = postIds[docId];
+            compactedLengths[live] = lengths[docId];
+            compactedDocByPost.put(postIds[docId], live);
+            live++;
+        }
+
+        Map<String, PostingList> compactedPostings = new HashMap<>();
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            PostingList compacted = new PostingList();
+            Cursor cursor = new Cursor(entry.getValue(), 0);
+            while (cursor.next()) {
+                int docId = renumbered[cursor.docId];
+                if (docId >= 0) {
+                    compacted.add(docId, cursor.frequency);
+                }
+            }
+            if (compacted.documentFrequency > 0) {
+                compactedPostings.put(entry.getKey(), compacted);
+            }
+        }
+
+        postings = compactedPostings;
+        docByPost = compactedDocByPost;
+        postIds = compactedPostIds;
+        lengths = compactedLengths;
+        deleted = new BitSet();
+        docCount = live;
+        deletedCount = 0;
+    }
+
+    private static double idf(int documentFrequency, int liveCount) {
+        // 지운 문서도 빈도에 남아 있으므로 살아 있는 문서 수를 넘지 않게 자른다.
+        int frequency = Math.min(documentFrequency, liveCount);
+        return Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+    }
+
+    @Getter
+    public static class SearchHits {
+
+        static final SearchHits EMPTY = new SearchHits(List.of(), 0);
+
+        private final List<Long> postIds;
+        private final int totalHits;
+
+        SearchHits(List<Long> postIds, int totalHits) {
+            this.postIds = postIds;
+            this.totalHits = totalHits;
+        }
+    }
+
+    /**
+     * (이전 문서 번호와의 간격, 빈도) 를 varint 로 이어 붙인 posting list 입니다.
+     */
+    private static final class PostingList {
+
+        private byte[] bytes = new byte[8];
+        private int size;
+        private int documentFrequency;
+        private int lastDocId = -1;
+
+        void add(int docId, int frequency) {
+            writeVarint(docId - lastDocId);
+            writeVarint(frequency);
+            lastDocId = docId;
+            documentFrequency++;
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 3 / 2, size + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+
+    private static final class Cursor {
+
+        private final PostingList postingList;
+        private final double idf;
+        private int position;
+        private int docId = -1;
+        private int frequency;
+
+        Cursor(PostingList postingList, double idf) {
+            this.postingList = postingList;
+            this.idf = idf;
+        }
+
+        boolean next() {
+            if (position >= postingList.size) {
+                return false;
+            }
+            docId += readVarint();
+            frequency = readVarint();
+            return true;
+        }
+
+        double score(int length, double averageLength) {
+            return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+        }
+
+        private int readVarint() {
+            byte[] bytes = postingList.bytes;
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+
+    /**
+     * 점수가 낮을수록, 점수가 같으면 오래된 문서일수록 앞에 오므로 min-heap 의 머리가 가장 먼저 밀려날 후보입니다.
+     */
+    private record ScoredDoc(int docId, double score) implements Comparable<ScoredDoc> {
+
+        boolean isWorseThan(int otherDocId, double otherScore) {
+            return score < otherScore || (score == otherScore && docId < otherDocId);
+        }
+
+        @Override
+        public int compareTo(ScoredDoc other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(docId, other.docId);
+        }
+    }
+
+    /**
+     * 게시물 id 에서 최신 문서 번호로 가는 open addressing 맵입니다. 박싱 없이 항목당 12바이트 남짓을 씁니다.
+     */
+    private static final class LongIntMap {
+
+        private long[] keys = new long[16];
+        // 문서 번호 + 1 을 담고, 0 이면 빈 칸이다.
+        private int[] values = new int[16];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; values[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i] - 1;
+                }
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == 0) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value + 1;
+        }
+
+        long estimatedBytes() {
+            return (long) keys.length * (Long.BYTES + Integer.BYTES);
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != 0) {
+                    put(oldKeys[i], oldValues[i] - 1);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ShardRouting;
+import com.example.demo.config.ShardRouting.Placement;
+import com.example.demo.repository.CompressedTextConverter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * 웹 서버가 요청을 받기 전에 posts 테이블을 한 번 훑어서 검색 색인을 만듭니다.
+ * 엔티티를 만들지 않도록 JDBC 커서로 (id, content) 만 앞으로만 읽고, 압축해서 저장한 본문은 여기서 풉니다.
+ * 샤드를 나누었으면 샤드마다 훑고, 옮기는 중이라 두 샤드에 있는 게시물은 주인인 샤드에서 읽은 것만 색인합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndexInitializer implements SmartInitializingSingleton {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final ShardRouting shardRouting;
+    private final PostSearchIndex postSearchIndex;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long startedAt = System.nanoTime();
+        Placement placement = shardRouting.placement();
+        postSearchIndex.rebuild(sink -> {
+            for (Map.Entry<String, DataSource> shard : shardRouting.getShards().entrySet()) {
+                new JdbcTemplate(shard.getValue()).query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(
+                            "select id, content from posts", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        statement.setFetchSize(FETCH_SIZE);
+                        return statement;
+                    },
+                    (RowCallbackHandler) resultSet -> {
+                        long id = resultSet.getLong(1);
+                        if (!placement.owns(shard.getKey(), id)) {
+                            return;
+                        }
+                        byte[] content = resultSet.getBytes(2);
+                        sink.accept(id, content == null ? null : CompressedTextConverter.decode(content));
+                    });
+            }
+        });
+        log.info("게시물 {}건으로 검색 색인을 {}ms 만에 만들었습니다. ({} bytes)",
+            postSearchIndex.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+            postSearchIndex.estimatedBytes());
+    }
+}
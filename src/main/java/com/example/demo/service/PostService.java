@@ -1,39 +1,411 @@
 package com.example.demo.service;
 
+import com.example.demo.config.MetricsConfig;
+import com.example.demo.config.ShardRouting;
+import com.example.demo.config.ShardRouting.Placement;
+import com.example.demo.exception.PostPreconditionFailedException;
+import com.example.demo.exception.PostVersionConflictException;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.model.MultiGetResult;
+import com.example.demo.model.PostCursor;
+import com.example.demo.model.PostExportRow;
+import com.example.demo.model.PostHeader;
+import com.example.demo.model.PostSearchResult;
+import com.example.demo.model.PostSummary;
+import com.example.demo.model.PostVersion;
+import com.example.demo.model.ResourceVersion;
+import com.example.demo.model.UserVersion;
+import com.example.demo.model.dto.BulkItemResult;
 import com.example.demo.model.dto.PostCreateDto;
 import com.example.demo.model.dto.PostUpdateDto;
 import com.example.demo.repository.PostEntity;
 import com.example.demo.repository.PostRepository;
 import com.example.demo.repository.UserEntity;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final Comparator<PostEntity> NEWEST_FIRST =
+        Comparator.comparing(PostEntity::getCreatedAt).thenComparing(PostEntity::getId).reversed();
+    private static final Comparator<PostExportRow> OLDEST_FIRST =
+        Comparator.comparing(PostExportRow::getCreatedAt).thenComparing(PostExportRow::getId);
+
     private final PostRepository postRepository;
     private final UserService userService;
+    private final PostHeaderCache postHeaderCache;
+    private final PostSearchIndex postSearchIndex;
+    private final WriterTimeline writerTimeline;
+    private final PostResponseCache postResponseCache;
+    private final SingleFlight<Long, PostEntity> postLoads;
+    private final ShardRouting shardRouting;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
+    /**
+     * 같은 게시물을 동시에 읽는 호출은 DB 읽기 한 번을 나눠 받습니다. 트랜잭션은 실제로 읽는 호출만 엽니다.
+     * 나눠 받는 엔티티는 읽은 호출의 영속성 컨텍스트에서 떼어 내서 돌려줍니다.
+     */
     public PostEntity getPostById(long id) {
-        return postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Posts", id));
+        return postLoads.load(id, () -> shardRouting.readPost(id, () -> {
+            PostEntity postEntity = postRepository.findWithContentById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Posts", id));
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.detach(postEntity);
+            }
+            return postEntity;
+        }));
+    }
+
+    public PostSummary getPostSummary(long id) {
+        return shardRouting.readPost(id, () -> postRepository.findSummaryById(id))
+            .orElseThrow(() -> new ResourceNotFoundException("Posts", id));
+    }
+
+    /**
+     * 게시물과 작성자의 버전 컬럼만 읽어서 만듭니다. 엔티티는 읽지 않습니다.
+     */
+    public ResourceVersion getVersion(long id) {
+        PostVersion postVersion = shardRouting.readPost(id, () -> postRepository.findVersionById(id))
+            .orElseThrow(() -> new ResourceNotFoundException("Posts", id));
+        return toResourceVersion(
+            postVersion.getCreatedAt(), postVersion.getModifiedAt(), postVersion.getVersion(), postVersion.getWriter());
+    }
+
+    public ResourceVersion getVersion(PostEntity postEntity) {
+        return toResourceVersion(
+            postEntity.getCreatedAt(),
+            postEntity.getModifiedAt(),
+            postEntity.getVersion(),
+            UserVersion.from(postEntity.getWriter()));
+    }
+
+    /**
+     * 작성자를 정하면 그 작성자의 샤드만 읽고, 정하지 않으면 모든 샤드의 페이지를 합칩니다.
+     */
+    public List<PostEntity> getPostsBefore(Long writerId, PostCursor cursor, int limit) {
+        if (writerId != null) {
+            return shardRouting.readWriter(writerId, () -> postRepository.findPageByWriterBefore(
+                writerId, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit)));
+        }
+        return shardRouting.readAll(placement -> mergeShardPages(
+            placement, cursor, limit, NEWEST_FIRST, PostCursor::from, PostEntity::getId,
+            (from, size) -> postRepository.findPageBefore(from.getCreatedAt(), from.getId(), PageRequest.of(0, size))));
+    }
+
+    /**
+     * 내보내기의 한 청크를 읽습니다. 청크마다 트랜잭션을 따로 써서, 읽은 뒤 응답을 쓰는 동안에는 커넥션을 잡고 있지 않습니다.
+     */
+    public List<PostExportRow> getExportChunkAfter(Long writerId, PostCursor cursor, int limit) {
+        if (writerId != null) {
+            return shardRouting.readWriter(writerId, () -> postRepository.findExportPageByWriterAfter(
+                writerId, cursor.getCreatedAt(), cursor.getId(), PageRequest.of(0, limit)));
+        }
+        return shardRouting.readAll(placement -> mergeShardPages(
+            placement, cursor, limit, OLDEST_FIRST, row -> new PostCursor(row.getCreatedAt(), row.getId()),
+            PostExportRow::getId,
+            (from, size) -> postRepository.findExportPageAfter(from.getCreatedAt(), from.getId(), PageRequest.of(0, size))));
+    }
+
+    /**
+     * 샤드마다 keyset 페이지를 읽어서 order 순서대로 합칩니다.
+     * 옮기는 중인 슬롯의 게시물은 두 샤드에 함께 있으므로 주인인 샤드에서 읽은 것만 쓰고, 걸러 낸 만큼 그 샤드에서 더 읽어서
+     * 샤드마다 limit 개를 채우거나 끝까지 읽은 뒤에 합칩니다.
+     */
+    private <T> List<T> mergeShardPages(
+        Placement placement,
+        PostCursor cursor,
+        int limit,
+        Comparator<T> order,
+        Function<T, PostCursor> cursorOf,
+        ToLongFunction<T> idOf,
+        BiFunction<PostCursor, Integer, List<T>> page) {
+        if (!shardRouting.isSharded()) {
+            return page.apply(cursor, limit);
+        }
+        List<T> merged = new ArrayList<>();
+        for (String shard : shardRouting.getShards().keySet()) {
+            PostCursor shardCursor = cursor;
+            int accepted = 0;
+            while (true) {
+                PostCursor from = shardCursor;
+                List<T> rows = shardRouting.on(shard, () -> page.apply(from, limit));
+                for (T row : rows) {
+                    if (placement.owns(shard, idOf.applyAsLong(row))) {
+                        merged.add(row);
+                        accepted++;
+                    }
+                }
+                if (rows.size() < limit || accepted >= limit) {
+                    break;
+                }
+                shardCursor = cursorOf.apply(rows.get(rows.size() - 1));
+            }
+        }
+        merged.sort(order);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * 색인에서 offset + limit 개의 상위 결과를 고른 뒤, 이번 페이지에 해당하는 게시물만 한 번의 IN 쿼리로 읽습니다.
+     * 색인에는 있지만 DB 에 없는 게시물은 건너뜁니다.
+     */
+    public PostSearchResult searchPosts(String query, int offset, int limit) {
+        PostSearchIndex.SearchHits searchHits = postSearchIndex.search(query, offset + limit);
+        List<Long> postIds = searchHits.getPostIds();
+        List<Long> pageIds = postIds.subList(Math.min(offset, postIds.size()), postIds.size());
+        if (pageIds.isEmpty()) {
+            return new PostSearchResult(List.of(), searchHits.getTotalHits());
+        }
+        return new PostSearchResult(getPostsByIds(pageIds).getFound(), searchHits.getTotalHits());
+    }
+
+    /**
+     * 작성자의 최신 게시물을 최신순으로 돌려줍니다. id 는 타임라인 링에서 꺼내고, 링에 담긴 것보다 많이 요청하면 DB 에서 읽습니다.
+     */
+    public List<PostEntity> getRecentPostsByWriter(long writerId, int limit) {
+        userService.getByIdOrElseThrow(writerId);
+        List<Long> postIds = shardRouting.readWriter(writerId, () -> {
+            long[] ids = writerTimeline.recent(writerId, limit,
+                capacity -> postRepository.findRecentIdsByWriterId(writerId, PageRequest.of(0, capacity)));
+            return ids != null
+                ? Arrays.stream(ids).boxed().toList()
+                : postRepository.findRecentIdsByWriterId(writerId, PageRequest.of(0, limit));
+        });
+        return getPostsByIds(postIds).getFound();
+    }
+
+    /**
+     * 요청한 순서대로 게시물을 돌려줍니다. 게시물과 작성자를 샤드마다 한 번의 IN 쿼리로 함께 읽습니다.
+     */
+    public MultiGetResult<PostEntity> getPostsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new MultiGetResult<>(List.of(), List.of());
+        }
+        Map<Long, PostEntity> postsById = shardRouting.readAll(placement -> {
+            Map<Long, PostEntity> found = new HashMap<>();
+            ids.stream()
+                .collect(Collectors.groupingBy(placement::ownerOfPost))
+                .forEach((shard, shardIds) -> shardRouting.on(shard, () -> postRepository.findAllWithWriterByIdIn(shardIds))
+                    .forEach(postEntity -> found.put(postEntity.getId(), postEntity)));
+            return found;
+        });
+        return MultiGetResult.ordered(ids, postsById);
     }
 
+    /**
+     * 작성자의 샤드에 씁니다. 작성자 확인도 같은 쓰기 트랜잭션에서 해서, 레플리카가 아직 따라잡지 못한 작성자도 primary 에서 찾게 합니다.
+     */
+    @Transactional
     public PostEntity createPost(PostCreateDto postCreateDto) {
+        shardRouting.bindWriter(postCreateDto.getWriterId());
         UserEntity userEntity = userService.getByIdOrElseThrow(postCreateDto.getWriterId());
         PostEntity postEntity = new PostEntity();
         postEntity.setWriter(userEntity);
         postEntity.setContent(postCreateDto.getContent());
         postEntity.setCreatedAt(Clock.systemUTC().millis());
-        return postRepository.save(postEntity);
+        postEntity = postRepository.save(postEntity);
+        postHeaderCache.put(new PostHeader(postEntity.getId(), postEntity.getCreatedAt(), userEntity.getId()));
+        indexAfterCommit(postEntity.getId(), postEntity.getContent());
+        appendToTimelineAfterCommit(userEntity.getId(), postEntity.getId());
+        return postEntity;
     }
 
+    /**
+     * 한 청크를 작성자의 샤드별로 나누어 샤드마다 하나의 트랜잭션으로 저장합니다. 작성자는 샤드마다 한 번의 IN 쿼리로 확인합니다.
+     * 처음 저장하는 샤드에서 실패하면 아무것도 커밋하지 않았으므로 예외를 그대로 던지고,
+     * 앞선 샤드가 이미 커밋한 뒤에 실패하면 그 샤드의 항목만 503 으로 거절합니다.
+     */
+    public List<BulkItemResult> createPosts(int offset, List<PostCreateDto> postCreateDtos) {
+        BulkItemResult[] results = new BulkItemResult[postCreateDtos.size()];
+        Placement placement = shardRouting.placement();
+        Map<String, List<Integer>> indexesByShard = new LinkedHashMap<>();
+        for (int i = 0; i < postCreateDtos.size(); i++) {
+            PostCreateDto postCreateDto = postCreateDtos.get(i);
+            if (postCreateDto == null) {
+                results[i] = BulkItemResult.rejected(offset + i, 400, "항목이 비어 있습니다.");
+                continue;
+            }
+            Set<ConstraintViolation<PostCreateDto>> violations = validator.validate(postCreateDto);
+            if (!violations.isEmpty()) {
+                results[i] = BulkItemResult.invalid(offset + i, violations);
+                continue;
+            }
+            indexesByShard.computeIfAbsent(placement.ownerOfWriter(postCreateDto.getWriterId()), shard -> new ArrayList<>())
+                .add(i);
+        }
+
+        boolean committed = false;
+        for (List<Integer> indexes : indexesByShard.values()) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    createPostsInShard(offset, postCreateDtos, indexes, results));
+                committed = true;
+            } catch (RuntimeException e) {
+                if (!committed) {
+                    throw e;
+                }
+                for (int index : indexes) {
+                    results[index] = BulkItemResult.rejected(offset + index, 503, "게시물을 저장하지 못했습니다.");
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void createPostsInShard(
+        int offset,
+        List<PostCreateDto> postCreateDtos,
+        List<Integer> indexes,
+        BulkItemResult[] results) {
+        for (int index : indexes) {
+            shardRouting.bindWriter(postCreateDtos.get(index).getWriterId());
+        }
+        Map<Long, UserEntity> writers = userService.getActiveUsersByIds(indexes.stream()
+            .map(index -> postCreateDtos.get(index).getWriterId())
+            .distinct()
+            .toList());
+
+        long now = Clock.systemUTC().millis();
+        for (int index : indexes) {
+            PostCreateDto postCreateDto = postCreateDtos.get(index);
+            UserEntity writer = writers.get(postCreateDto.getWriterId());
+            if (writer == null) {
+                results[index] = BulkItemResult.rejected(offset + index, 404,
+                    new ResourceNotFoundException("Users", postCreateDto.getWriterId()).getMessage());
+                continue;
+            }
+            PostEntity postEntity = new PostEntity();
+            postEntity.setWriter(writer);
+            postEntity.setContent(postCreateDto.getContent());
+            postEntity.setCreatedAt(now);
+            postEntity = postRepository.save(postEntity);
+            indexAfterCommit(postEntity.getId(), postEntity.getContent());
+            appendToTimelineAfterCommit(writer.getId(), postEntity.getId());
+            results[index] = BulkItemResult.created(offset + index, postEntity.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * 현재 버전만 읽은 뒤 그 버전일 때만 수정합니다. 그 사이에 다른 수정이 있었다면 덮어쓰지 않고 충돌로 처리합니다.
+     */
+    @Transactional
     public PostEntity updatePost(long id, PostUpdateDto postUpdateDto) {
-        PostEntity postEntity = getPostById(id);
+        shardRouting.bindPost(id);
+        PostVersion postVersion = postRepository.findVersionById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Posts", id));
+        PostHeader postHeader = new PostHeader(id, postVersion.getCreatedAt(), postVersion.getWriter().getId());
+        postHeaderCache.put(postHeader);
+        return updateIfVersion(postHeader, postVersion.getVersion(), postUpdateDto)
+            .orElseThrow(() -> new PostVersionConflictException(id));
+    }
+
+    /**
+     * 클라이언트가 If-Match 로 보낸 버전을 조건으로 쓰므로 게시물을 읽지 않고 UPDATE 한 번으로 끝납니다.
+     * 버전이 다르면 412 로 응답하도록 {@link PostPreconditionFailedException} 을 던집니다.
+     */
+    @Transactional
+    public PostEntity updatePost(long id, long expectedVersion, String ifMatch, PostUpdateDto postUpdateDto) {
+        shardRouting.bindPost(id);
+        PostHeader postHeader = postHeaderCache.get(id, () -> postRepository.findHeaderById(id))
+            .orElseThrow(() -> new ResourceNotFoundException("Posts", id));
+        return updateIfVersion(postHeader, expectedVersion, postUpdateDto)
+            .orElseThrow(() -> new PostPreconditionFailedException(id, ifMatch));
+    }
+
+    /**
+     * 버전이 달라서 수정하지 않았으면 비어 있습니다.
+     */
+    private Optional<PostEntity> updateIfVersion(PostHeader postHeader, long version, PostUpdateDto postUpdateDto) {
+        UserEntity writer = userService.getByIdOrElseThrow(postHeader.getWriterId());
+        long modifiedAt = Clock.systemUTC().millis();
+        int updated = postRepository.updateContentIfVersion(
+            postHeader.getId(), version, postUpdateDto.getContent(), modifiedAt);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        postResponseCache.invalidatePost(postHeader.getId());
+        postLoads.forget(postHeader.getId());
+        indexAfterCommit(postHeader.getId(), postUpdateDto.getContent());
+        // 다시 읽지 않고, 바꾼 값과 바뀌지 않는 값을 모아서 응답을 만든다.
+        PostEntity postEntity = new PostEntity();
+        postEntity.setId(postHeader.getId());
         postEntity.setContent(postUpdateDto.getContent());
-        postEntity.setModifiedAt(Clock.systemUTC().millis());
-        return postRepository.save(postEntity);
+        postEntity.setCreatedAt(postHeader.getCreatedAt());
+        postEntity.setModifiedAt(modifiedAt);
+        postEntity.setVersion(version + 1);
+        postEntity.setWriter(writer);
+        return Optional.of(postEntity);
+    }
+
+    /**
+     * 롤백된 내용이 검색되지 않도록 커밋된 뒤에 색인합니다.
+     */
+    private void indexAfterCommit(long postId, String content) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            postSearchIndex.index(postId, content);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                postSearchIndex.index(postId, content);
+            }
+        });
+    }
+
+    /**
+     * 롤백된 게시물이 타임라인에 남지 않도록 커밋된 뒤에 붙입니다.
+     */
+    private void appendToTimelineAfterCommit(long writerId, long postId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writerTimeline.append(writerId, postId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writerTimeline.append(writerId, postId);
+            }
+        });
+    }
+
+    private ResourceVersion toResourceVersion(Long createdAt, Long modifiedAt, Long version, UserVersion writer) {
+        Long writerLastLoginAt = userService.getLastLoginAt(writer);
+        return ResourceVersion.of(
+            ResourceVersion.latest(createdAt, modifiedAt, writer.getModifiedAt(), writerLastLoginAt),
+            version,
+            writer.getVersion(),
+            writerLastLoginAt);
     }
 }
\ No newline at end of file
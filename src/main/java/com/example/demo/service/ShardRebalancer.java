@@ -0,0 +1,182 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ShardProperties;
+import com.example.demo.config.ShardRouting;
+import com.example.demo.config.ShardRouting.Placement;
+import com.example.demo.model.dto.ShardRebalanceResponse;
+import com.example.demo.model.dto.ShardStatusResponse;
+import com.example.demo.repository.PostSlots;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+/**
+ * 해시 링이 정한 샤드와 지금 샤드가 다른 슬롯의 게시물을 옮깁니다. 슬롯 하나씩, 서비스를 멈추지 않고 옮깁니다.
+ * 먼저 잠그지 않고 슬롯의 게시물을 복사한 뒤, 슬롯의 쓰기를 잠깐 막고 그 사이에 바뀐 게시물만 다시 복사해서 주인을 바꿉니다.
+ * 주인을 바꾼 뒤에 원래 샤드의 게시물을 지웁니다. 옮기는 중인 작성자는 이 프로세스 안에서만 추적하므로, 애플리케이션이 하나일 때 씁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    private static final String POST_COLUMNS = "id, content, created_at, modified_at, user_id, version";
+    private static final String INSERT_POST =
+        "insert into posts (" + POST_COLUMNS + ") values (?, ?, ?, ?, ?, ?)";
+
+    private final ShardRouting shardRouting;
+    private final ShardUserReplicator shardUserReplicator;
+    private final ShardProperties shardProperties;
+
+    public ShardStatusResponse status() {
+        Placement placement = shardRouting.placement();
+        Map<String, Integer> targetSlots = new HashMap<>();
+        int pendingSlots = 0;
+        for (int slot = 0; slot < PostSlots.SLOTS; slot++) {
+            String target = shardRouting.targetOwnerOf(slot);
+            targetSlots.merge(target, 1, Integer::sum);
+            if (!target.equals(placement.ownerOfSlot(slot))) {
+                pendingSlots++;
+            }
+        }
+        ShardStatusResponse shardStatusResponse = new ShardStatusResponse();
+        shardStatusResponse.setSharded(shardRouting.isSharded());
+        shardStatusResponse.setSlots(placement.slotCounts());
+        shardStatusResponse.setTargetSlots(targetSlots);
+        shardStatusResponse.setPendingSlots(pendingSlots);
+        return shardStatusResponse;
+    }
+
+    /**
+     * 한 번에 하나의 리밸런싱만 돌도록 동기화합니다.
+     */
+    public synchronized ShardRebalanceResponse rebalance() {
+        long startedAt = System.nanoTime();
+        ShardRebalanceResponse shardRebalanceResponse = new ShardRebalanceResponse();
+        if (shardRouting.isSharded()) {
+            // 옮겨 간 게시물이 새 샤드에서 작성자를 join 할 수 있도록 users 를 먼저 맞춰 둔다.
+            shardUserReplicator.copyAll();
+            for (int slot = 0; slot < PostSlots.SLOTS; slot++) {
+                String source = shardRouting.placement().ownerOfSlot(slot);
+                String target = shardRouting.targetOwnerOf(slot);
+                if (!source.equals(target)) {
+                    shardRebalanceResponse.setMovedPosts(shardRebalanceResponse.getMovedPosts() + move(slot, source, target));
+                    shardRebalanceResponse.setMovedSlots(shardRebalanceResponse.getMovedSlots() + 1);
+                }
+            }
+        }
+        shardRebalanceResponse.setTookMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("슬롯 {}개, 게시물 {}건을 {}ms 만에 옮겼습니다.",
+            shardRebalanceResponse.getMovedSlots(),
+            shardRebalanceResponse.getMovedPosts(),
+            shardRebalanceResponse.getTookMillis());
+        return shardRebalanceResponse;
+    }
+
+    private long move(int slot, String source, String target) {
+        JdbcTemplate from = new JdbcTemplate(shardRouting.getShards().get(source));
+        JdbcTemplate to = new JdbcTemplate(shardRouting.getShards().get(target));
+        shardRouting.startMove(slot);
+        try {
+            // startMove 가 돌아온 뒤로 이 슬롯에 쓰는 작성자는 따로 모이므로, 여기서 읽은 작성자와 합치면 빠지는 작성자가 없다.
+            Set<Long> writers = new HashSet<>(from.queryForList(
+                "select distinct user_id from posts where mod(id, ?) = ?", Long.class, PostSlots.SLOTS, slot));
+            for (long writerId : writers) {
+                copyPosts(from, to, writerId);
+            }
+            shardRouting.withSlotLocked(slot, () -> {
+                writers.addAll(shardRouting.writersSinceMoveStarted(slot));
+                for (long writerId : writers) {
+                    catchUp(from, to, writerId);
+                }
+                shardRouting.assign(slot, target);
+                return null;
+            });
+            long moved = 0;
+            for (long writerId : writers) {
+                moved += from.update("delete from posts where user_id = ?", writerId);
+            }
+            return moved;
+        } finally {
+            shardRouting.finishMove(slot);
+        }
+    }
+
+    /**
+     * 작성자의 게시물을 id 순서로 나누어 복사합니다. 이전에 옮기다 만 게시물이 남아 있을 수 있으므로 먼저 지웁니다.
+     */
+    private void copyPosts(JdbcTemplate from, JdbcTemplate to, long writerId) {
+        to.update("delete from posts where user_id = ?", writerId);
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> rows = from.query(
+                "select " + POST_COLUMNS + " from posts where user_id = ? and id > ? order by id fetch first ? rows only",
+                (resultSet, rowNum) -> postRow(resultSet),
+                writerId,
+                lastId,
+                shardProperties.getCopyBatchSize());
+            if (rows.isEmpty()) {
+                return;
+            }
+            to.batchUpdate(INSERT_POST, rows);
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    /**
+     * 복사한 뒤에 생기거나 고쳐진 게시물만 다시 복사합니다. 슬롯의 쓰기를 막은 채로 부르므로 두 샤드를 비교하는 동안 바뀌지 않습니다.
+     */
+    private void catchUp(JdbcTemplate from, JdbcTemplate to, long writerId) {
+        Map<Long, Long> sourceVersions = versions(from, writerId);
+        Map<Long, Long> targetVersions = versions(to, writerId);
+        List<Object[]> stale = new ArrayList<>();
+        for (Long id : targetVersions.keySet()) {
+            Long version = sourceVersions.get(id);
+            if (version == null || !version.equals(targetVersions.get(id))) {
+                stale.add(new Object[]{id});
+            }
+        }
+        if (!stale.isEmpty()) {
+            to.batchUpdate("delete from posts where id = ?", stale);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        sourceVersions.forEach((id, version) -> {
+            if (!version.equals(targetVersions.get(id))) {
+                rows.add(from.queryForObject(
+                    "select " + POST_COLUMNS + " from posts where id = ?", (resultSet, rowNum) -> postRow(resultSet), id));
+            }
+        });
+        if (!rows.isEmpty()) {
+            to.batchUpdate(INSERT_POST, rows);
+        }
+    }
+
+    private static Object[] postRow(ResultSet resultSet) throws SQLException {
+        return new Object[]{
+            resultSet.getLong(1),
+            resultSet.getBytes(2),
+            resultSet.getObject(3),
+            resultSet.getObject(4),
+            resultSet.getLong(5),
+            resultSet.getObject(6)};
+    }
+
+    private static Map<Long, Long> versions(JdbcTemplate shard, long writerId) {
+        Map<Long, Long> versions = new HashMap<>();
+        shard.query("select id, version from posts where user_id = ?",
+            (RowCallbackHandler) resultSet -> versions.put(resultSet.getLong(1), resultSet.getLong(2)),
+            writerId);
+        return versions;
+    }
+}
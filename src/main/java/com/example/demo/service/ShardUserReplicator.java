@@ -0,0 +1,149 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ShardProperties;
+import com.example.demo.config.ShardRouting;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * users 를 모든 샤드에 복사해 둡니다. 게시물과 작성자를 한 샤드 안에서 join 하기 위한 복사본이고, 원본은 home 샤드에 있습니다.
+ * home 에 커밋된 행을 다른 샤드에 덮어쓰므로, 복사가 실패해도 다음 복사나 리밸런싱 때 맞춰집니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardUserReplicator {
+
+    private static final String COLUMNS =
+        "id, email, nickname, address, certification_code, status, last_login_at, modified_at, version";
+    private static final String UPDATE = "update users set email = ?, nickname = ?, address = ?, certification_code = ?,"
+        + " status = ?, last_login_at = ?, modified_at = ?, version = ? where id = ? and version <= ?";
+    private static final String INSERT = "insert into users (" + COLUMNS + ") select ?, ?, ?, ?, ?, ?, ?, ?, ?"
+        + " where not exists (select 1 from users where id = ?)";
+
+    private final ShardRouting shardRouting;
+    private final ShardProperties shardProperties;
+
+    /**
+     * 현재 트랜잭션이 커밋되면 유저 행을 다른 샤드에 복사합니다. 롤백되면 복사하지 않습니다.
+     */
+    public void copyAfterCommit(long userId) {
+        if (!shardRouting.isSharded()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            copy(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                copy(userId);
+            }
+        });
+    }
+
+    /**
+     * home 에 실행한 유저 UPDATE 를 다른 샤드에도 실행합니다.
+     */
+    public void applyToOtherShards(String sql, List<Object[]> batchArgs) {
+        for (Map.Entry<String, DataSource> shard : otherShards()) {
+            try {
+                new JdbcTemplate(shard.getValue()).batchUpdate(sql, batchArgs);
+            } catch (RuntimeException e) {
+                log.warn("{} 샤드의 users 를 고치지 못했습니다.", shard.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * home 의 모든 유저를 다른 샤드에 복사합니다. 리밸런싱 전에 옮겨 갈 게시물의 작성자 행을 맞춰 둡니다.
+     */
+    public long copyAll() {
+        JdbcTemplate home = new JdbcTemplate(shardRouting.getShards().get(ShardRouting.HOME));
+        long copied = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> rows = home.query(
+                "select " + COLUMNS + " from users where id > ? order by id fetch first ? rows only",
+                (resultSet, rowNum) -> row(resultSet),
+                lastId,
+                shardProperties.getCopyBatchSize());
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            for (Map.Entry<String, DataSource> shard : otherShards()) {
+                upsert(new JdbcTemplate(shard.getValue()), rows);
+            }
+            copied += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+
+    private void copy(long userId) {
+        JdbcTemplate home = new JdbcTemplate(shardRouting.getShards().get(ShardRouting.HOME));
+        List<Object[]> rows = home.query(
+            "select " + COLUMNS + " from users where id = ?", (resultSet, rowNum) -> row(resultSet), userId);
+        for (Map.Entry<String, DataSource> shard : otherShards()) {
+            try {
+                upsert(new JdbcTemplate(shard.getValue()), rows);
+            } catch (RuntimeException e) {
+                log.warn("유저 {} 를 {} 샤드에 복사하지 못했습니다.", userId, shard.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * 게시물이 작성자 행을 참조하므로 지우고 다시 넣지 않고, 고친 행이 없을 때만 넣습니다.
+     * 복사가 늦게 도착해도 더 새 버전을 덮어쓰지 않습니다.
+     */
+    private static void upsert(JdbcTemplate shard, List<Object[]> rows) {
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] update = new Object[row.length + 1];
+            System.arraycopy(row, 1, update, 0, row.length - 1);
+            update[row.length - 1] = row[0];
+            update[row.length] = row[row.length - 1];
+            updates.add(update);
+        }
+        int[] updated = shard.batchUpdate(UPDATE, updates);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                Object[] row = rows.get(i);
+                Object[] insert = Arrays.copyOf(row, row.length + 1);
+                insert[row.length] = row[0];
+                inserts.add(insert);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            shard.batchUpdate(INSERT, inserts);
+        }
+    }
+
+    private static Object[] row(ResultSet resultSet) throws SQLException {
+        Object[] row = new Object[9];
+        row[0] = resultSet.getLong(1);
+        for (int column = 2; column <= row.length; column++) {
+            row[column - 1] = resultSet.getObject(column);
+        }
+        return row;
+    }
+
+    private List<Map.Entry<String, DataSource>> otherShards() {
+        return shardRouting.getShards().entrySet().stream()
+            .filter(shard -> !shard.getKey().equals(ShardRouting.HOME))
+            .toList();
+    }
+}
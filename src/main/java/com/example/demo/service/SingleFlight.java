@@ -0,0 +1,117 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 같은 키를 동시에 읽는 호출을 DB 읽기 한 번으로 합칩니다.
+ * 먼저 온 호출이 읽고, 읽는 동안 온 호출은 그 결과나 예외를 함께 받습니다. 결과는 여러 스레드가 함께 쓰므로 바꾸지 않아야 합니다.
+ * 트랜잭션 안에서는 자기 트랜잭션이 쓴 값을 봐야 하므로 합치지 않고 바로 읽습니다.
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            joins.increment();
+            return join(inFlight);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * 진행 중인 읽기를 떼어 내서, 이후에 온 호출은 새로 읽게 합니다. 이미 합류한 호출은 그대로 결과를 받습니다.
+     * 현재 트랜잭션이 있다면 끝난 뒤에 한 번 더 떼어 내서, 커밋 전에 시작한 읽기에 커밋 뒤의 호출이 합류하지 않게 합니다.
+     */
+    public void forget(K key) {
+        flights.remove(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    flights.remove(key);
+                }
+            });
+        }
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long joinCount() {
+        return joins.sum();
+    }
+
+    /**
+     * 합쳐서 DB 를 읽지 않은 호출의 비율입니다.
+     */
+    public double coalescingRatio() {
+        long joined = joins.sum();
+        long total = joined + loads.sum();
+        return total == 0 ? 0 : (double) joined / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("single.flight.calls", loads, LongAdder::sum)
+            .tag("name", name)
+            .tag("result", "load")
+            .register(meterRegistry);
+        FunctionCounter.builder("single.flight.calls", joins, LongAdder::sum)
+            .tag("name", name)
+            .tag("result", "join")
+            .register(meterRegistry);
+        Gauge.builder("single.flight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // 먼저 읽은 호출이 던진 예외를 그대로 던져서, 예외 처리가 직접 읽은 경우와 같게 한다.
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA 방식의 토큰 버킷입니다. 남은 토큰 대신 "다음 요청이 허용되는 이론상 시각" 하나만 AtomicLong 에 두므로,
+ * 락 없이 compareAndSet 한 번으로 판단합니다. 시간은 System.nanoTime 기준입니다.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate 는 0 보다 크고 burst 는 1 이상이어야 합니다.");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 허용하면 0 을, 거절하면 다시 시도할 수 있을 때까지 남은 나노초를 돌려줍니다.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long wait = base - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 허용한 요청이 다른 한도에 걸려 거절되었을 때 받은 토큰을 돌려놓습니다.
+     */
+    public void refund() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+}
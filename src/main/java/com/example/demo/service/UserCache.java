@@ -0,0 +1,201 @@
+package com.example.demo.service;
+
+import com.example.demo.config.UserCacheProperties;
+import com.example.demo.model.UserStatus;
+import com.example.demo.repository.UserEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ACTIVE 상태의 유저만 담는 캐시입니다. 유저 데이터는 id 로만 보관하고, email 은 id 를 찾는 색인으로만 사용합니다.
+ * 캐시에는 영속성 컨텍스트와 무관한 복사본을 담아서, 다른 요청의 변경이 커밋 전에 보이지 않게 합니다.
+ * id 로 찾다가 캐시에 없으면 같은 id 를 동시에 찾는 호출끼리 DB 읽기를 합치고, 이때도 복사본을 나눠 줍니다.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, UserEntity> byId;
+    private final Cache<String, Long> idByEmail;
+    private final Cache<Long, Invalidation> invalidatedAt;
+    private final AtomicLong clock = new AtomicLong();
+    private final long staleReadWindowNanos;
+    private final SingleFlight<Long, Optional<UserEntity>> loads;
+
+    public UserCache(UserCacheProperties properties, SingleFlight<Long, Optional<UserEntity>> loads) {
+        this.loads = loads;
+        this.staleReadWindowNanos = properties.getStaleReadWindow().toNanos();
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+        this.idByEmail = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .build();
+    }
+
+    public Optional<UserEntity> getById(long id, Supplier<Optional<UserEntity>> loader) {
+        UserEntity cached = getActive(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return loads.load(id, () -> load(loader).map(UserCache::snapshot));
+    }
+
+    public Optional<UserEntity> getByEmail(String email, Supplier<Optional<UserEntity>> loader) {
+        Long id = idByEmail.getIfPresent(email);
+        if (id != null) {
+            UserEntity cached = getActive(id);
+            if (cached != null && email.equals(cached.getEmail())) {
+                return Optional.of(cached);
+            }
+        }
+        return load(loader);
+    }
+
+    /**
+     * 캐시에 없는 유저만 모아서 한 번에 읽습니다. 돌려주는 맵에는 찾은 ACTIVE 유저만 들어 있습니다.
+     */
+    public Map<Long, UserEntity> getAllById(
+        Collection<Long> ids,
+        Function<Collection<Long>, Collection<UserEntity>> loader) {
+        Map<Long, UserEntity> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            UserEntity cached = getActive(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+        long startedAt = clock.get();
+        for (UserEntity userEntity : loader.apply(misses)) {
+            if (userEntity.getStatus() == UserStatus.ACTIVE) {
+                putIfFresh(startedAt, snapshot(userEntity));
+                found.put(userEntity.getId(), userEntity);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * DB 를 읽지 않고 캐시에 있는 ACTIVE 유저만 돌려줍니다.
+     */
+    public Optional<UserEntity> peek(long id) {
+        return Optional.ofNullable(getActive(id));
+    }
+
+    /**
+     * 현재 트랜잭션이 있다면 커밋 이후에 한 번 더 지워서, 커밋 전에 읽어 간 값이 다시 캐시에 들어오지 않게 합니다.
+     */
+    public void evict(long id) {
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * 캐시된 유저가 있다면 로그인 시각만 바꾼 복사본으로 교체합니다. 없으면 아무것도 하지 않습니다.
+     */
+    public void updateLastLoginAt(long id, long lastLoginAt) {
+        byId.asMap().computeIfPresent(id, (key, cached) -> {
+            if (cached.getLastLoginAt() != null && cached.getLastLoginAt() >= lastLoginAt) {
+                return cached;
+            }
+            UserEntity updated = snapshot(cached);
+            updated.setLastLoginAt(lastLoginAt);
+            return updated;
+        });
+    }
+
+    public CacheStats stats() {
+        return byId.stats();
+    }
+
+    public long size() {
+        return byId.estimatedSize();
+    }
+
+    private UserEntity getActive(long id) {
+        UserEntity cached = byId.getIfPresent(id);
+        if (cached != null && cached.getStatus() != UserStatus.ACTIVE) {
+            invalidate(id);
+            return null;
+        }
+        return cached;
+    }
+
+    private Optional<UserEntity> load(Supplier<Optional<UserEntity>> loader) {
+        long startedAt = clock.get();
+        Optional<UserEntity> loaded = loader.get();
+        loaded
+            .filter(userEntity -> userEntity.getStatus() == UserStatus.ACTIVE)
+            .ifPresent(userEntity -> putIfFresh(startedAt, snapshot(userEntity)));
+        return loaded;
+    }
+
+    private void putIfFresh(long startedAt, UserEntity snapshot) {
+        // 읽기 시작한 뒤에 이 유저가 무효화되었다면 읽어 온 값이 이미 낡았을 수 있으므로 캐시에 남기지 않는다.
+        // 레플리카에서 읽는다면 무효화 직후에는 읽기를 시작했어도 아직 복제되지 않은 옛 값일 수 있다.
+        byId.put(snapshot.getId(), snapshot);
+        if (snapshot.getEmail() != null) {
+            idByEmail.put(snapshot.getEmail(), snapshot.getId());
+        }
+        Invalidation invalidated = invalidatedAt.getIfPresent(snapshot.getId());
+        if (invalidated != null
+            && (invalidated.tick > startedAt || System.nanoTime() - invalidated.nanos < staleReadWindowNanos)) {
+            byId.asMap().remove(snapshot.getId(), snapshot);
+        }
+    }
+
+    private void invalidate(long id) {
+        invalidatedAt.put(id, new Invalidation(clock.incrementAndGet(), System.nanoTime()));
+        byId.invalidate(id);
+        loads.forget(id);
+    }
+
+    private static UserEntity snapshot(UserEntity userEntity) {
+        UserEntity snapshot = new UserEntity();
+        snapshot.setId(userEntity.getId());
+        snapshot.setEmail(userEntity.getEmail());
+        snapshot.setNickname(userEntity.getNickname());
+        snapshot.setAddress(userEntity.getAddress());
+        snapshot.setCertificationCode(userEntity.getCertificationCode());
+        snapshot.setStatus(userEntity.getStatus());
+        snapshot.setLastLoginAt(userEntity.getLastLoginAt());
+        snapshot.setModifiedAt(userEntity.getModifiedAt());
+        snapshot.setVersion(userEntity.getVersion());
+        return snapshot;
+    }
+
+    private record Invalidation(long tick, long nanos) {
+    }
+}
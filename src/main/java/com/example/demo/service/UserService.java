@@ -1,89 +1,231 @@
 package com.example.demo.service;
 
+import com.example.demo.config.MetricsConfig;
+import com.example.demo.config.PendingUserProperties;
 import com.example.demo.exception.CertificationCodeNotMatchedException;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.model.MultiGetResult;
+import com.example.demo.model.ResourceVersion;
 import com.example.demo.model.UserStatus;
+import com.example.demo.model.UserVersion;
+import com.example.demo.model.dto.BulkItemResult;
 import com.example.demo.model.dto.UserCreateDto;
 import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.PendingUserRepository;
 import com.example.demo.repository.UserEntity;
 import com.example.demo.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final JavaMailSender mailSender;
+    private final PendingUserRepository pendingUserRepository;
+    private final PendingUserProperties pendingUserProperties;
+    private final MailOutboxService mailOutboxService;
+    private final UserCache userCache;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final PostResponseCache postResponseCache;
+    private final ShardUserReplicator shardUserReplicator;
+    private final EntityManager entityManager;
+    private final Validator validator;
 
+    /**
+     * 캐시에 있으면 트랜잭션 없이 돌려줍니다. 없으면 리포지토리의 읽기 전용 트랜잭션으로 읽습니다.
+     */
     public Optional<UserEntity> getById(long id) {
-        return userRepository.findByIdAndStatus(id, UserStatus.ACTIVE);
+        return userCache.getById(id, () -> userRepository.findByIdAndStatus(id, UserStatus.ACTIVE));
     }
 
     public UserEntity getByEmail(String email) {
-        return userRepository.findByEmailAndStatus(email, UserStatus.ACTIVE)
+        return userCache.getByEmail(email, () -> userRepository.findByEmailAndStatus(email, UserStatus.ACTIVE))
             .orElseThrow(() -> new ResourceNotFoundException("Users", email));
     }
 
     public UserEntity getByIdOrElseThrow(long id) {
-        return userRepository.findByIdAndStatus(id, UserStatus.ACTIVE)
+        return getById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Users", id));
     }
 
+    /**
+     * 캐시에 있으면 캐시에서, 없으면 버전 컬럼만 읽어서 만듭니다. 유저 엔티티는 읽지 않습니다.
+     */
+    public ResourceVersion getVersion(long id) {
+        UserVersion userVersion = userCache.peek(id)
+            .map(UserVersion::from)
+            .or(() -> userRepository.findVersionByIdAndStatus(id, UserStatus.ACTIVE))
+            .orElseThrow(() -> new ResourceNotFoundException("Users", id));
+        Long lastLoginAt = getLastLoginAt(userVersion);
+        return ResourceVersion.of(
+            ResourceVersion.latest(userVersion.getModifiedAt(), lastLoginAt),
+            userVersion.getVersion(),
+            lastLoginAt);
+    }
+
+    /**
+     * 요청한 순서대로 ACTIVE 유저를 돌려줍니다. 캐시에 없는 유저는 한 번의 IN 쿼리로 읽습니다.
+     */
+    public MultiGetResult<UserEntity> getUsersByIds(Collection<Long> ids) {
+        return MultiGetResult.ordered(ids, getActiveUsersByIds(ids));
+    }
+
+    public Map<Long, UserEntity> getActiveUsersByIds(Collection<Long> ids) {
+        return userCache.getAllById(ids, misses -> userRepository.findAllByIdInAndStatus(misses, UserStatus.ACTIVE));
+    }
+
+    /**
+     * 가입 신청은 users 가 아니라 만료 시각이 있는 pending_users 에 저장합니다. 인증하지 않은 신청은 {@link PendingUserPurger} 가 지웁니다.
+     */
     @Transactional
-    public UserEntity createUser(UserCreateDto userCreateDto) {
-        UserEntity userEntity = new UserEntity();
-        userEntity.setEmail(userCreateDto.getEmail());
-        userEntity.setNickname(userCreateDto.getNickname());
-        userEntity.setAddress(userCreateDto.getAddress());
-        userEntity.setStatus(UserStatus.PENDING);
-        userEntity.setCertificationCode(UUID.randomUUID().toString());
-        userEntity = userRepository.save(userEntity);
-        String certificationUrl = generateCertificationUrl(userEntity);
+    public PendingUserEntity createUser(UserCreateDto userCreateDto) {
+        PendingUserEntity pendingUserEntity = pendingUserRepository.save(newPendingUser(userCreateDto));
+        String certificationUrl = generateCertificationUrl(pendingUserEntity);
         sendCertificationEmail(userCreateDto.getEmail(), certificationUrl);
-        return userEntity;
+        return pendingUserEntity;
+    }
+
+    /**
+     * 한 청크를 하나의 트랜잭션으로 저장합니다. insert 는 JDBC 배치로 묶이며,
+     * 청크가 끝나면 영속성 컨텍스트를 비워서 청크 수만큼 메모리가 늘어나지 않게 합니다.
+     */
+    @Transactional
+    public List<BulkItemResult> createUsers(int offset, List<UserCreateDto> userCreateDtos) {
+        List<BulkItemResult> results = new ArrayList<>(userCreateDtos.size());
+        for (int i = 0; i < userCreateDtos.size(); i++) {
+            UserCreateDto userCreateDto = userCreateDtos.get(i);
+            if (userCreateDto == null) {
+                results.add(BulkItemResult.rejected(offset + i, 400, "항목이 비어 있습니다."));
+                continue;
+            }
+            Set<ConstraintViolation<UserCreateDto>> violations = validator.validate(userCreateDto);
+            if (!violations.isEmpty()) {
+                results.add(BulkItemResult.invalid(offset + i, violations));
+                continue;
+            }
+            PendingUserEntity pendingUserEntity = pendingUserRepository.save(newPendingUser(userCreateDto));
+            sendCertificationEmail(pendingUserEntity.getEmail(), generateCertificationUrl(pendingUserEntity));
+            results.add(BulkItemResult.created(offset + i, pendingUserEntity.getId()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return results;
     }
 
     @Transactional
     public UserEntity updateUser(long id, UserUpdateDto userUpdateDto) {
-        UserEntity userEntity = getByIdOrElseThrow(id);
+        UserEntity userEntity = userRepository.findByIdAndStatus(id, UserStatus.ACTIVE)
+            .orElseThrow(() -> new ResourceNotFoundException("Users", id));
         userEntity.setNickname(userUpdateDto.getNickname());
         userEntity.setAddress(userUpdateDto.getAddress());
+        userEntity.setModifiedAt(Clock.systemUTC().millis());
         userEntity = userRepository.save(userEntity);
+        shardUserReplicator.copyAfterCommit(id);
+        userCache.evict(id);
+        postResponseCache.invalidateWriter(id);
         return userEntity;
     }
 
-    @Transactional
     public void login(long id) {
-        UserEntity userEntity = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Users", id));
-        userEntity.setLastLoginAt(Clock.systemUTC().millis());
+        lastLoginBuffer.record(id, Clock.systemUTC().millis());
+        // 게시물 응답에 작성자의 마지막 로그인 시각이 들어가므로 캐시한 응답도 바뀐다.
+        postResponseCache.invalidateWriter(id);
     }
 
+    public Long getLastLoginAt(UserEntity userEntity) {
+        return getLastLoginAt(userEntity.getId(), userEntity.getLastLoginAt());
+    }
+
+    public Long getLastLoginAt(UserVersion userVersion) {
+        return getLastLoginAt(userVersion.getId(), userVersion.getLastLoginAt());
+    }
+
+    private Long getLastLoginAt(long id, Long persisted) {
+        Long buffered = lastLoginBuffer.get(id);
+        if (buffered == null) {
+            return persisted;
+        }
+        return persisted == null ? buffered : Math.max(buffered, persisted);
+    }
+
+    /**
+     * 가입 신청을 같은 id 의 ACTIVE 유저로 옮깁니다. 이미 옮겨진 신청의 링크를 다시 누르면 아무것도 하지 않습니다.
+     */
     @Transactional
     public void verifyEmail(long id, String certificationCode) {
-        UserEntity userEntity = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Users", id));
-        if (!certificationCode.equals(userEntity.getCertificationCode())) {
+        Optional<PendingUserEntity> pendingUser = pendingUserRepository.findByIdForUpdate(id);
+        if (pendingUser.isEmpty()) {
+            UserEntity userEntity = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Users", id));
+            if (!certificationCode.equals(userEntity.getCertificationCode())) {
+                throw new CertificationCodeNotMatchedException();
+            }
+            return;
+        }
+        PendingUserEntity pendingUserEntity = pendingUser.get();
+        if (!certificationCode.equals(pendingUserEntity.getCertificationCode())) {
             throw new CertificationCodeNotMatchedException();
         }
-        userEntity.setStatus(UserStatus.ACTIVE);
+        long now = Clock.systemUTC().millis();
+        if (pendingUserEntity.getExpiresAt() <= now) {
+            throw new ResourceNotFoundException("Users", id);
+        }
+        userRepository.insertActive(pendingUserEntity, now);
+        pendingUserRepository.delete(pendingUserEntity);
+        shardUserReplicator.copyAfterCommit(id);
+        userCache.evict(id);
+        postResponseCache.invalidateWriter(id);
+    }
+
+    /**
+     * 만료된 가입 신청을 최대 limit 개 지우고 지운 수를 돌려줍니다. 한 번에 지우는 행 수를 제한해서 잠금을 오래 잡지 않습니다.
+     */
+    @Transactional
+    public int purgeExpiredPendingUsers(int limit) {
+        long now = Clock.systemUTC().millis();
+        List<Long> expiredIds = pendingUserRepository.findExpiredIds(now, PageRequest.of(0, limit));
+        if (expiredIds.isEmpty()) {
+            return 0;
+        }
+        return pendingUserRepository.deleteExpiredByIdIn(expiredIds, now);
+    }
+
+    private PendingUserEntity newPendingUser(UserCreateDto userCreateDto) {
+        long now = Clock.systemUTC().millis();
+        PendingUserEntity pendingUserEntity = new PendingUserEntity();
+        pendingUserEntity.setEmail(userCreateDto.getEmail());
+        pendingUserEntity.setNickname(userCreateDto.getNickname());
+        pendingUserEntity.setAddress(userCreateDto.getAddress());
+        pendingUserEntity.setCertificationCode(UUID.randomUUID().toString());
+        pendingUserEntity.setCreatedAt(now);
+        pendingUserEntity.setExpiresAt(now + pendingUserProperties.getTtl().toMillis());
+        return pendingUserEntity;
     }
 
     private void sendCertificationEmail(String email, String certificationUrl) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Please certify your email address");
-        message.setText("Please click the following link to certify your email address: " + certificationUrl);
-        mailSender.send(message);
+        mailOutboxService.enqueue(
+            email,
+            "Please certify your email address",
+            "Please click the following link to certify your email address: " + certificationUrl);
     }
 
-    private String generateCertificationUrl(UserEntity userEntity) {
-        return "http://localhost:8080/api/users/" + userEntity.getId() + "/verify?certificationCode=" + userEntity.getCertificationCode();
+    private String generateCertificationUrl(PendingUserEntity pendingUserEntity) {
+        return "http://localhost:8080/api/users/" + pendingUserEntity.getId() + "/verify?certificationCode=" + pendingUserEntity.getCertificationCode();
     }
 }
\ No newline at end of file
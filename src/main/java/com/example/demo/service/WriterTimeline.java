@@ -0,0 +1,226 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 작성자별 최근 게시물 id 를 long 배열 링에 담아 두는 타임라인입니다. 게시물을 쓸 때 링에 붙이고, 읽을 때는 posts 테이블을 보지 않고 id 를 꺼냅니다.
+ * 링은 작성자마다 capacity 개까지만 담고, 작성자 수는 maximum-writers 로 제한하므로 전체 메모리는 두 값의 곱에 비례합니다.
+ * 링이 없는 작성자는 처음 읽을 때 DB 에서 채우고, 링에 담긴 것보다 많이 요청하면 DB 에서 읽도록 null 을 돌려줍니다.
+ */
+@Component
+public class WriterTimeline implements MeterBinder {
+
+    private static final int INITIAL_RING_SIZE = 4;
+    // long[] 헤더, Ring 필드, 캐시 노드와 Long 키를 합친 크기. WriterTimelineBenchmark 의 힙 증가량에서 배열 본문을 뺀 값이다.
+    private static final int RING_OVERHEAD_BYTES = 176;
+
+    private final int capacity;
+    private final Cache<Long, Ring> rings;
+    private Counter ringHits;
+    private Counter ringLoads;
+    private Counter overflows;
+
+    public WriterTimeline(
+        @Value("${post.timeline.capacity:32}") int capacity,
+        @Value("${post.timeline.maximum-writers:100000}") long maximumWriters) {
+        this.capacity = capacity;
+        this.rings = Caffeine.newBuilder()
+            .maximumSize(maximumWriters)
+            .build();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 작성자의 최신 게시물 id 를 limit 개까지 최신순으로 돌려줍니다. 링이 없으면 loader 로 최신 capacity 개를 읽어 링을 만듭니다.
+     * 링에 담긴 것보다 많이 요청했고 링 밖에도 게시물이 있다면 null 을 돌려줍니다.
+     */
+    public long[] recent(long writerId, int limit, IntFunction<List<Long>> loader) {
+        boolean[] loaded = new boolean[1];
+        Ring ring = rings.get(writerId, ignored -> {
+            loaded[0] = true;
+            return Ring.of(loader.apply(capacity), capacity);
+        });
+        long[] ids = ring.newest(limit);
+        if (ids == null) {
+            increment(overflows);
+        } else {
+            increment(loaded[0] ? ringLoads : ringHits);
+        }
+        return ids;
+    }
+
+    /**
+     * 링이 있는 작성자에게만 붙입니다. 링이 없다면 다음에 읽을 때 DB 에서 이 게시물까지 함께 읽습니다.
+     * 같은 작성자의 링을 채우는 중이면 채운 뒤에 붙이므로, 채우는 쿼리가 이 게시물을 못 봤더라도 빠지지 않습니다.
+     */
+    public void append(long writerId, long postId) {
+        rings.asMap().computeIfPresent(writerId, (key, ring) -> {
+            ring.add(postId);
+            return ring;
+        });
+    }
+
+    public long size() {
+        return rings.estimatedSize();
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Ring ring : rings.asMap().values()) {
+            bytes += RING_OVERHEAD_BYTES + 8L * ring.slots();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("post.timeline.writers", this, WriterTimeline::size)
+            .description("타임라인 링을 가진 작성자 수")
+            .register(meterRegistry);
+        Gauge.builder("post.timeline.bytes", this, WriterTimeline::estimatedBytes)
+            .description("타임라인 링이 차지하는 추정 메모리")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        ringHits = readCounter(meterRegistry, "hit");
+        ringLoads = readCounter(meterRegistry, "load");
+        overflows = readCounter(meterRegistry, "overflow");
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("post.timeline.reads")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * 오래된 것부터 최신 순으로 담는 원형 버퍼입니다. 배열은 필요한 만큼 두 배씩 늘리되 capacity 를 넘지 않습니다.
+     * complete 는 작성자의 게시물이 모두 링 안에 있다는 뜻이며, 링이 가득 차서 가장 오래된 id 를 밀어내면 false 가 됩니다.
+     */
+    static final class Ring {
+
+        private final int capacity;
+        private long[] ids;
+        private int start;
+        private int size;
+        private boolean complete;
+
+        private Ring(int capacity, int initialSize) {
+            this.capacity = capacity;
+            this.ids = new long[Math.max(1, Math.min(capacity, initialSize))];
+        }
+
+        /**
+         * 최신순으로 읽어 온 id 로 링을 만듭니다. capacity 보다 적게 읽혔다면 작성자의 게시물이 모두 담긴 것입니다.
+         */
+        static Ring of(List<Long> newestFirst, int capacity) {
+            Ring ring = new Ring(capacity, Math.max(INITIAL_RING_SIZE, newestFirst.size()));
+            for (int i = Math.min(newestFirst.size(), capacity) - 1; i >= 0; i--) {
+                ring.ids[ring.size++] = newestFirst.get(i);
+            }
+            ring.complete = newestFirst.size() < capacity;
+            return ring;
+        }
+
+        synchronized void add(long postId) {
+            if (size > 0 && postId <= get(size - 1)) {
+                insertOutOfOrder(postId);
+                return;
+            }
+            if (size == ids.length && ids.length < capacity) {
+                grow();
+            }
+            if (size == ids.length) {
+                ids[start] = postId;
+                start = (start + 1) % ids.length;
+                complete = false;
+                return;
+            }
+            ids[(start + size) % ids.length] = postId;
+            size++;
+        }
+
+        synchronized long[] newest(int limit) {
+            if (limit > size && !complete) {
+                return null;
+            }
+            int count = Math.min(limit, size);
+            long[] newest = new long[count];
+            for (int i = 0; i < count; i++) {
+                newest[i] = get(size - 1 - i);
+            }
+            return newest;
+        }
+
+        synchronized int slots() {
+            return ids.length;
+        }
+
+        private long get(int index) {
+            return ids[(start + index) % ids.length];
+        }
+
+        /**
+         * 동시에 쓴 게시물의 커밋 순서가 id 순서와 다를 때만 옵니다. 드물고 링이 작으므로 펼쳐서 끼워 넣습니다.
+         */
+        private void insertOutOfOrder(long postId) {
+            long[] ordered = new long[size];
+            for (int i = 0; i < size; i++) {
+                ordered[i] = get(i);
+            }
+            int position = Arrays.binarySearch(ordered, postId);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (position == 0 && size == capacity) {
+                // 링에 담긴 가장 오래된 것보다도 오래되었으므로 링 밖에 있는 게시물로 남긴다.
+                complete = false;
+                return;
+            }
+            long[] inserted = new long[Math.min(capacity, Math.max(ids.length, size + 1))];
+            int from = size == capacity ? 1 : 0;
+            int to = 0;
+            for (int i = from; i < position; i++) {
+                inserted[to++] = ordered[i];
+            }
+            inserted[to++] = postId;
+            for (int i = position; i < size; i++) {
+                inserted[to++] = ordered[i];
+            }
+            if (from == 1) {
+                complete = false;
+            }
+            ids = inserted;
+            start = 0;
+            size = to;
+        }
+
+        private void grow() {
+            long[] grown = new long[Math.min(capacity, ids.length * 2)];
+            for (int i = 0; i < size; i++) {
+                grown[i] = get(i);
+            }
+            ids = grown;
+            start = 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo;
+
+import com.example.demo.model.dto.PostCreateDto;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.example.demo.service.PostService;
+import com.example.demo.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * 통합 테스트가 함께 쓰는 스프링 컨텍스트와 픽스처입니다.
+ * 설정을 바꾸지 않는 테스트는 이 클래스를 상속만 해서 컨텍스트 하나와 DB 하나를 함께 씁니다.
+ * 설정을 바꿔야 하는 테스트는 자기 DB 를 쓰는 {@link SpringBootTest} 를 다시 붙입니다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:integration-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false",
+    // 게시물 몇 개로도 내보내기가 청크 경계를 넘게 한다.
+    "post.export.chunk-size=2"
+})
+@AutoConfigureMockMvc
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserService userService;
+
+    @Autowired
+    protected PostService postService;
+
+    /**
+     * 가입하고 이메일 인증까지 마친 유저의 가입 정보입니다. 레플리카에서 읽지 않도록 유저를 다시 읽지 않습니다.
+     */
+    protected PendingUserEntity verifiedUser(String nickname) {
+        return verifiedUser(userService, nickname);
+    }
+
+    /**
+     * 테스트가 직접 띄운 컨텍스트에서도 쓸 수 있도록 UserService 를 받습니다.
+     */
+    public static PendingUserEntity verifiedUser(UserService userService, String nickname) {
+        PendingUserEntity pendingUser = userService.createUser(UserCreateDto.builder()
+            .email(nickname + System.nanoTime() + "@example.com")
+            .nickname(nickname)
+            .address("Seoul")
+            .build());
+        userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+        return pendingUser;
+    }
+
+    protected UserEntity activeUser(String nickname) {
+        return userService.getByIdOrElseThrow(verifiedUser(nickname).getId());
+    }
+
+    protected UserEntity activeUser() {
+        return activeUser("writer");
+    }
+
+    protected PostEntity post(long writerId, String content) {
+        return postService.createPost(PostCreateDto.builder()
+            .writerId(writerId)
+            .content(content)
+            .build());
+    }
+}
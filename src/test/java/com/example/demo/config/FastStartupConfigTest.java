@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:fast-startup-test;DB_CLOSE_ON_EXIT=FALSE",
+    // 테스트 DB 는 비어 있으므로 스키마를 만든다.
+    "spring.jpa.hibernate.ddl-auto=create",
+    "app.scheduling.enabled=false"
+})
+@ActiveProfiles("fast-startup")
+class FastStartupConfigTest {
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void 컨트롤러와_필터와_스케줄_작업은_시작할_때_만든다() {
+        assertThat(beanFactory.getBeanDefinition("healthCheckController").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("admissionControlFilter").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("mailOutboxDispatcher").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("pendingUserPurger").isLazyInit()).isFalse();
+    }
+
+    @Test
+    void 그_밖의_빈은_처음_쓸_때_만든다() {
+        assertThat(beanFactory.getBeanDefinition("postSearchIndex").isLazyInit()).isTrue();
+        assertThat(beanFactory.getBeanDefinition("userCache").isLazyInit()).isTrue();
+    }
+}
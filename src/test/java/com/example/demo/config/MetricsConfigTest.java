@@ -0,0 +1,52 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.repository.UserEntity;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 테스트는 기본으로 지표를 내보내지 않으므로 {@link AutoConfigureObservability} 로 Prometheus 레지스트리를 켭니다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:metrics-config-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false"
+})
+@ActiveProfiles("metrics")
+@AutoConfigureObservability
+class MetricsConfigTest extends IntegrationTest {
+
+    @Test
+    void API_요청과_서비스_메서드의_히스토그램과_Hibernate_통계를_내보낸다() throws Exception {
+        UserEntity writer = activeUser();
+        long postId = post(writer.getId(), "content").getId();
+        mockMvc.perform(get("/api/users/{id}", writer.getId()))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts/{id}", postId))
+            .andExpect(status().isOk());
+
+        List<String> scrape = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .lines()
+            .toList();
+
+        assertThat(hasMeter(scrape, "http_server_requests_seconds_bucket", "uri=\"/api/users/{id}\"")).isTrue();
+        assertThat(hasMeter(scrape, "http_server_requests_seconds_bucket", "uri=\"/api/posts/{id}\"")).isTrue();
+        assertThat(hasMeter(scrape, "service_method_seconds_bucket", "class=\"com.example.demo.service.PostService\"")).isTrue();
+        assertThat(hasMeter(scrape, "hibernate_statements_total", "entityManagerFactory=")).isTrue();
+    }
+
+    private static boolean hasMeter(List<String> scrape, String name, String tag) {
+        return scrape.stream().anyMatch(line -> line.startsWith(name + "{") && line.contains(tag));
+    }
+}
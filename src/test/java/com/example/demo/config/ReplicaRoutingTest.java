@@ -0,0 +1,111 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.PendingUserEntity;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+/**
+ * 두 개의 H2 인메모리 DB 를 primary 와 레플리카로 씁니다. 복제는 primary 의 SCRIPT 를 레플리카에 다시 실행하는 것으로 흉내 내므로,
+ * replicate() 를 부르지 않은 쓰기는 레플리카에 없습니다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+    "app.replicas.enabled=true",
+    "app.replicas.instances[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+    "app.replicas.instances[0].username=sa",
+    "app.replicas.instances[0].password=",
+    "user.cache.stale-read-window=5s",
+    "app.scheduling.enabled=false"
+})
+class ReplicaRoutingTest extends IntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica-routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private PendingUserEntity user;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        user = verifiedUser("before");
+        // 복제하기 전에 heartbeat 를 새로 써서, 컨텍스트 시작이 max-lag 보다 오래 걸려도 레플리카가 지연된 것으로 보이지 않게 한다.
+        replicaLagMonitor.probe();
+        replicate();
+        replicaLagMonitor.probe();
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션은_레플리카에서_읽는다() {
+        userService.updateUser(user.getId(), UserUpdateDto.builder().nickname("after").address("Busan").build());
+
+        assertThat(userService.getByIdOrElseThrow(user.getId()).getNickname()).isEqualTo("before");
+    }
+
+    @Test
+    void 쓰기를_커밋한_클라이언트의_다음_읽기는_primary_에서_읽는다() throws Exception {
+        mockMvc.perform(put("/api/users/me")
+                .header("EMAIL", user.getEmail())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nickname\":\"after\",\"address\":\"Busan\"}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me").header("EMAIL", user.getEmail()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nickname").value("after"));
+        mockMvc.perform(get("/api/users/" + user.getId()).header("EMAIL", "other@example.com"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nickname").value("before"));
+    }
+
+    @Test
+    void 허용_지연을_넘은_레플리카는_읽기에서_뺀다() throws SQLException {
+        userService.updateUser(user.getId(), UserUpdateDto.builder().nickname("after").address("Busan").build());
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.executeUpdate("update replication_heartbeat set beat_at = " + (Clock.systemUTC().millis() - 60_000));
+        }
+
+        replicaLagMonitor.probe();
+
+        assertThat(userService.getByIdOrElseThrow(user.getId()).getNickname()).isEqualTo("after");
+    }
+
+    private static void replicate() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "")) {
+            List<String> script = new ArrayList<>();
+            try (Statement statement = primary.createStatement(); ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+                while (resultSet.next()) {
+                    script.add(resultSet.getString(1));
+                }
+            }
+            try (Statement statement = replica.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                for (String sql : script) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
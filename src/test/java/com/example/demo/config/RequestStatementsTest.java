@@ -0,0 +1,85 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.exception.StatementBudgetExceededException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestStatementsTest {
+
+    private final StatementProperties properties = new StatementProperties();
+
+    @AfterEach
+    void tearDown() {
+        RequestStatements.end();
+    }
+
+    @Test
+    void 같은_SQL_을_기준_횟수_이상_실행하면_N_plus_1_로_의심한다() {
+        RequestStatements statements = RequestStatements.begin("GET /api/posts", properties);
+
+        statements.beforeExecute("select * from posts");
+        for (int i = 0; i < 3; i++) {
+            statements.beforeExecute("select * from users where id=?");
+        }
+
+        assertThat(statements.getCount()).isEqualTo(4);
+        assertThat(statements.duplicates(3)).containsOnlyKeys("select * from users where id=?");
+    }
+
+    @Test
+    void 느린_SQL_만_모은다() {
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        RequestStatements statements = RequestStatements.begin("GET /api/posts", properties);
+
+        statements.afterExecute("fast", Duration.ofMillis(1).toNanos());
+        statements.afterExecute("slow", Duration.ofMillis(150).toNanos());
+
+        assertThat(statements.getSlowStatements()).containsExactly("150ms slow");
+    }
+
+    @Test
+    void 실패시키지_않으면_예산을_넘어도_실행하고_넘었다고만_표시한다() {
+        RequestStatements statements = RequestStatements.begin("GET /api/posts", properties);
+        statements.limit("GET /api/posts", 1);
+
+        statements.beforeExecute("a");
+        statements.beforeExecute("b");
+
+        assertThat(statements.isOverBudget()).isTrue();
+    }
+
+    @Test
+    void 실패시키면_예산을_넘는_SQL_앞에서_예외를_던진다() {
+        properties.setFailOnBudgetExceeded(true);
+        RequestStatements statements = RequestStatements.begin("GET /api/posts", properties);
+        statements.limit("GET /api/posts", 1);
+
+        statements.beforeExecute("a");
+
+        assertThatThrownBy(() -> statements.beforeExecute("b"))
+            .isInstanceOf(StatementBudgetExceededException.class)
+            .hasMessage("GET /api/posts 요청이 SQL 문 예산 1개를 넘었습니다.");
+    }
+
+    @Test
+    void 제외한_요청은_세지_않고_예산도_적용하지_않는다() {
+        properties.setFailOnBudgetExceeded(true);
+        RequestStatements statements = RequestStatements.begin("GET /api/posts/export", properties);
+        statements.limit("GET /api/posts/export", 0);
+
+        statements.ignore();
+        for (int i = 0; i < 3; i++) {
+            statements.beforeExecute("select * from posts");
+            statements.afterExecute("select * from posts", Duration.ofSeconds(1).toNanos());
+        }
+
+        assertThat(statements.getCount()).isZero();
+        assertThat(statements.isOverBudget()).isFalse();
+        assertThat(statements.duplicates(3)).isEmpty();
+        assertThat(statements.getSlowStatements()).isEmpty();
+    }
+}
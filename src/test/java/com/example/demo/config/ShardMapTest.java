@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.repository.PostSlots;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ShardMapTest {
+
+    @Test
+    void 샤드를_하나_더하면_새_샤드로_가는_슬롯만_옮겨진다() {
+        String[] before = new ShardMap(List.of("home", "shard-1", "shard-2"), 64).owners();
+        String[] after = new ShardMap(List.of("home", "shard-1", "shard-2", "shard-3"), 64).owners();
+
+        int moved = 0;
+        for (int slot = 0; slot < PostSlots.SLOTS; slot++) {
+            if (!before[slot].equals(after[slot])) {
+                assertThat(after[slot]).isEqualTo("shard-3");
+                moved++;
+            }
+        }
+        // 넷 중 하나인 256 개 근처만 옮겨진다.
+        assertThat(moved).isBetween(PostSlots.SLOTS / 8, PostSlots.SLOTS / 2);
+    }
+
+    @Test
+    void 슬롯은_샤드에_고르게_나뉜다() {
+        String[] owners = new ShardMap(List.of("home", "shard-1", "shard-2"), 64).owners();
+
+        for (String shard : List.of("home", "shard-1", "shard-2")) {
+            long count = Arrays.stream(owners).filter(shard::equals).count();
+            assertThat(count).isBetween(PostSlots.SLOTS / 6L, PostSlots.SLOTS / 2L);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.PostCursor;
+import com.example.demo.model.dto.PostUpdateDto;
+import com.example.demo.model.dto.ShardRebalanceResponse;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.PostSlots;
+import com.example.demo.service.ShardRebalancer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 세 개의 H2 인메모리 DB 를 home 과 두 샤드로 씁니다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:shard-routing-home;DB_CLOSE_DELAY=-1",
+    "app.shards.enabled=true",
+    "app.shards.instances[0].name=shard-1",
+    "app.shards.instances[0].url=jdbc:h2:mem:shard-routing-1;DB_CLOSE_DELAY=-1",
+    "app.shards.instances[0].username=sa",
+    "app.shards.instances[0].password=",
+    "app.shards.instances[1].name=shard-2",
+    "app.shards.instances[1].url=jdbc:h2:mem:shard-routing-2;DB_CLOSE_DELAY=-1",
+    "app.shards.instances[1].username=sa",
+    "app.shards.instances[1].password=",
+    "app.shards.copy-batch-size=7",
+    "app.scheduling.enabled=false"
+})
+class ShardRoutingTest extends IntegrationTest {
+
+    @Autowired
+    private ShardRouting shardRouting;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Test
+    void 게시물은_작성자_슬롯의_샤드에만_저장되고_id_에_슬롯이_들어간다() throws Exception {
+        long writerId = activeUser().getId();
+
+        PostEntity post = post(writerId, "hello");
+
+        assertThat(PostSlots.ofPost(post.getId())).isEqualTo(PostSlots.ofWriter(writerId));
+        String owner = shardRouting.placement().ownerOfWriter(writerId);
+        for (String shard : shardRouting.getShards().keySet()) {
+            assertThat(count(shard, post.getId())).as(shard).isEqualTo(shard.equals(owner) ? 1 : 0);
+        }
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").value("hello"))
+            .andExpect(jsonPath("$.writer.id").value(writerId));
+    }
+
+    @Test
+    void 작성자를_정하지_않은_목록은_모든_샤드의_게시물을_최신순으로_합친다() {
+        Set<String> shards = new HashSet<>();
+        Set<Long> created = new HashSet<>();
+        while (shards.size() < 2) {
+            long writerId = activeUser().getId();
+            shards.add(shardRouting.placement().ownerOfWriter(writerId));
+            for (int i = 0; i < 3; i++) {
+                created.add(post(writerId, "post" + i).getId());
+            }
+        }
+
+        List<PostEntity> all = postService.getPostsBefore(null, PostCursor.decode(null), 10_000);
+        List<Long> paged = new ArrayList<>();
+        PostCursor cursor = PostCursor.decode(null);
+        while (true) {
+            List<PostEntity> page = postService.getPostsBefore(null, cursor, 4);
+            page.forEach(post -> paged.add(post.getId()));
+            if (page.size() < 4) {
+                break;
+            }
+            cursor = PostCursor.from(page.get(page.size() - 1));
+        }
+
+        assertThat(all).isSortedAccordingTo(
+            Comparator.comparing(PostEntity::getCreatedAt).thenComparing(PostEntity::getId).reversed());
+        assertThat(all).extracting(PostEntity::getId).containsAll(created).doesNotHaveDuplicates();
+        assertThat(paged).containsExactlyElementsOf(all.stream().map(PostEntity::getId).toList());
+        assertThat(postService.getPostsByIds(created).getFound()).hasSize(created.size());
+    }
+
+    @Test
+    void 리밸런싱하는_동안_쓴_게시물도_잃지_않고_해시_링이_정한_샤드로_옮긴다() throws Exception {
+        for (String shard : shardRouting.getShards().keySet()) {
+            jdbc(shard).update("delete from posts");
+        }
+        jdbc(ShardRouting.HOME).update("update post_shard_slots set shard = ?", ShardRouting.HOME);
+        shardRouting.reload();
+        List<Long> writers = new ArrayList<>();
+        Map<Long, String> contents = new ConcurrentHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            long writerId = activeUser().getId();
+            writers.add(writerId);
+            for (int j = 0; j < 10; j++) {
+                PostEntity post = post(writerId, "post" + i + "-" + j);
+                contents.put(post.getId(), post.getContent());
+            }
+        }
+        assertThat(shardRouting.placement().slotCounts()).containsOnlyKeys(ShardRouting.HOME);
+
+        AtomicBoolean rebalancing = new AtomicBoolean(true);
+        CompletableFuture<Void> writes = CompletableFuture.runAsync(() -> {
+            List<Long> ids = new ArrayList<>(contents.keySet());
+            int written = 0;
+            while (rebalancing.get() || written < 20) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long writerId = writers.get(random.nextInt(writers.size()));
+                PostEntity post = post(writerId, "during" + written);
+                contents.put(post.getId(), post.getContent());
+                long updatedId = ids.get(random.nextInt(ids.size()));
+                postService.updatePost(updatedId, PostUpdateDto.builder().content("updated" + written).build());
+                contents.put(updatedId, "updated" + written);
+                written++;
+            }
+        });
+        ShardRebalanceResponse response = shardRebalancer.rebalance();
+        rebalancing.set(false);
+        writes.get();
+
+        assertThat(response.getMovedSlots()).isPositive();
+        assertThat(shardRebalancer.status().getPendingSlots()).isZero();
+        for (Map.Entry<Long, String> post : contents.entrySet()) {
+            String owner = shardRouting.placement().ownerOfPost(post.getKey());
+            assertThat(owner).isEqualTo(shardRouting.targetOwnerOf(PostSlots.ofPost(post.getKey())));
+            for (String shard : shardRouting.getShards().keySet()) {
+                assertThat(count(shard, post.getKey())).as(shard).isEqualTo(shard.equals(owner) ? 1 : 0);
+            }
+            assertThat(postService.getPostById(post.getKey()).getContent()).isEqualTo(post.getValue());
+        }
+    }
+
+    private int count(String shard, long postId) {
+        return jdbc(shard).queryForObject("select count(*) from posts where id = ?", Integer.class, postId);
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(shardRouting.getShards().get(shard));
+    }
+}
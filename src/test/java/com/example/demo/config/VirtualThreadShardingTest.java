@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.PostSlots;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 가상 스레드와 샤딩을 함께 켜도 컨텍스트가 뜨고, 커넥션 제한이 샤드 라우팅을 감싼 dataSource 빈에만 걸리는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:virtual-thread-sharding-home;DB_CLOSE_DELAY=-1",
+    "app.threads.virtual.enabled=true",
+    "app.shards.enabled=true",
+    "app.shards.instances[0].name=shard-1",
+    "app.shards.instances[0].url=jdbc:h2:mem:virtual-thread-sharding-1;DB_CLOSE_DELAY=-1",
+    "app.shards.instances[0].username=sa",
+    "app.shards.instances[0].password=",
+    "app.scheduling.enabled=false"
+})
+class VirtualThreadShardingTest extends IntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private ShardRouting shardRouting;
+
+    @Test
+    void 가상_스레드와_샤딩을_함께_켜도_게시물을_작성자의_샤드에_쓰고_읽는다() throws Exception {
+        long writerId = activeUser().getId();
+
+        PostEntity post = post(writerId, "hello");
+
+        assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+        assertThat(shardRoutingDataSource).isNotInstanceOf(ConnectionLimitingDataSource.class);
+        assertThat(PostSlots.ofPost(post.getId())).isEqualTo(PostSlots.ofWriter(writerId));
+        assertThat(shardRouting.getShards()).containsKey(shardRouting.placement().ownerOfWriter(writerId));
+        mockMvc.perform(get("/api/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").value("hello"));
+    }
+}
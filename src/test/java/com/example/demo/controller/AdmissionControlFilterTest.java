@@ -0,0 +1,82 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(properties(), meterRegistry, now::get);
+
+    @Test
+    void 한도를_넘긴_클라이언트만_429_와_Retry_After_를_받는다() throws Exception {
+        assertThat(perform("PUT", "/api/users/me", "noisy@example.com").getStatus()).isEqualTo(200);
+        assertThat(perform("PUT", "/api/users/me", "noisy@example.com").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse shed = perform("PUT", "/api/users/me", "noisy@example.com");
+        assertThat(shed.getStatus()).isEqualTo(429);
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        assertThat(perform("PUT", "/api/users/me", "quiet@example.com").getStatus()).isEqualTo(200);
+        assertThat(count("admitted", "none")).isEqualTo(3);
+        assertThat(count("shed", "key")).isEqualTo(1);
+    }
+
+    @Test
+    void 전체_한도를_넘기면_처음_보는_클라이언트도_거절한다() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            perform("PUT", "/api/users/me", "user" + i + "@example.com");
+        }
+
+        assertThat(perform("PUT", "/api/users/me", "new@example.com").getStatus()).isEqualTo(429);
+        assertThat(count("shed", "global")).isEqualTo(1);
+    }
+
+    @Test
+    void 설정되지_않은_경로와_메서드는_제한하지_않는다() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("GET", "/api/users/me", "noisy@example.com").getStatus()).isEqualTo(200);
+            assertThat(perform("PUT", "/api/posts/1", "noisy@example.com").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String email) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(AdmissionControlFilter.KEY_HEADER, email);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private double count(String outcome, String limit) {
+        return meterRegistry.get(AdmissionControlFilter.ADMISSION_REQUESTS)
+            .tag("route", "my-info-update")
+            .tag("outcome", outcome)
+            .tag("limit", limit)
+            .counter()
+            .count();
+    }
+
+    private static AdmissionProperties properties() {
+        AdmissionProperties.Route route = new AdmissionProperties.Route();
+        route.setMethod("PUT");
+        route.setPath("/api/users/me");
+        route.getPerKey().setRate(1);
+        route.getPerKey().setBurst(2);
+        route.getGlobal().setRate(1);
+        route.getGlobal().setBurst(4);
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getRoutes().put("my-info-update", route);
+        return properties;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.exception.BulkImportFailedException;
+import com.example.demo.exception.InvalidBulkRequestException;
+import com.example.demo.model.dto.BulkItemResult;
+import com.example.demo.model.dto.PostCreateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+
+class BulkRequestReaderTest {
+
+    private final BulkRequestReader bulkRequestReader = new BulkRequestReader(new ObjectMapper(), 2);
+
+    private final BiFunction<Integer, List<PostCreateDto>, List<BulkItemResult>> createAll = (offset, chunk) -> {
+        List<BulkItemResult> results = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(chunk.get(i) == null
+                ? BulkItemResult.rejected(offset + i, 400, "항목이 비어 있습니다.")
+                : BulkItemResult.created(offset + i, offset + i + 100L));
+        }
+        return results;
+    };
+
+    @Test
+    void 타입이_맞지_않는_항목만_거절하고_나머지는_계속_처리한다() {
+        List<BulkItemResult> results = bulkRequestReader.readInChunks(
+            body("[{\"writerId\":1,\"content\":\"a\"},{\"writerId\":\"x\"},{\"writerId\":1,\"content\":\"c\"}]"),
+            PostCreateDto.class,
+            createAll);
+
+        assertThat(results).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(201, 400, 201);
+        assertThat(results.get(1).getError()).contains("long");
+    }
+
+    @Test
+    void 청크_처리가_실패하면_저장된_건수를_알려준다() {
+        BiFunction<Integer, List<PostCreateDto>, List<BulkItemResult>> failOnSecondChunk = (offset, chunk) -> {
+            if (offset > 0) {
+                throw new IllegalStateException("boom");
+            }
+            return createAll.apply(offset, chunk);
+        };
+
+        assertThatThrownBy(() -> bulkRequestReader.readInChunks(
+            body("[{\"writerId\":1,\"content\":\"a\"},{\"writerId\":1,\"content\":\"b\"},{\"writerId\":1,\"content\":\"c\"}]"),
+            PostCreateDto.class,
+            failOnSecondChunk))
+            .isInstanceOf(BulkImportFailedException.class)
+            .hasMessageContaining("2건을 처리했고 그중 2건이 저장");
+    }
+
+    @Test
+    void JSON_문법이_깨지면_그때까지_처리한_건수와_함께_중단한다() {
+        assertThatThrownBy(() -> bulkRequestReader.readInChunks(
+            body("[{\"writerId\":1,\"content\":\"a\"},{\"writerId\":1,\"content\":\"b\"},{\"writerId\":"),
+            PostCreateDto.class,
+            createAll))
+            .isInstanceOf(InvalidBulkRequestException.class)
+            .hasMessageContaining("2건을 처리했고 그중 2건이 저장");
+    }
+
+    private InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.dto.PostUpdateDto;
+import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class ConditionalGetTest extends IntegrationTest {
+
+    private UserEntity writer;
+    private PostEntity post;
+
+    @BeforeEach
+    void setUp() {
+        writer = activeUser();
+        post = post(writer.getId(), "content");
+    }
+
+    @Test
+    void ETag_가_같으면_본문_없이_304_를_돌려준다() throws Exception {
+        String eTag = eTag("/api/posts/" + post.getId());
+
+        mockMvc.perform(get("/api/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void 게시물이나_작성자가_바뀌면_200_을_돌려준다() throws Exception {
+        String eTag = eTag("/api/posts/" + post.getId());
+
+        postService.updatePost(post.getId(), PostUpdateDto.builder().content("updated").build());
+        mockMvc.perform(get("/api/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+
+        eTag = eTag("/api/posts/" + post.getId());
+        userService.updateUser(writer.getId(), UserUpdateDto.builder().nickname("renamed").address("Busan").build());
+        mockMvc.perform(get("/api/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void 유저는_로그인_시각이_바뀌면_200_을_돌려준다() throws Exception {
+        String eTag = eTag("/api/users/" + writer.getId());
+        mockMvc.perform(get("/api/users/" + writer.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        userService.login(writer.getId());
+
+        mockMvc.perform(get("/api/users/" + writer.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
+    private String eTag(String uri) throws Exception {
+        return mockMvc.perform(get(uri))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.dto.MyProfileResponse;
+import com.example.demo.model.dto.PostResponse;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+class ContentNegotiationTest extends IntegrationTest {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private UserEntity writer;
+    private PostEntity post;
+
+    @BeforeEach
+    void setUp() {
+        writer = activeUser();
+        post = post(writer.getId(), "content");
+    }
+
+    @Test
+    void Accept_가_CBOR_이면_CBOR_로_응답한다() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/posts/" + post.getId()).accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        PostResponse postResponse = new CBORMapper().readValue(body, PostResponse.class);
+        assertThat(postResponse.getContent()).isEqualTo("content");
+        assertThat(postResponse.getWriter().getNickname()).isEqualTo("writer");
+    }
+
+    @Test
+    void Accept_가_Smile_이면_Smile_로_응답한다() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/users/me").header("EMAIL", writer.getEmail()).accept(APPLICATION_SMILE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(APPLICATION_SMILE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        MyProfileResponse myProfileResponse = new SmileMapper().readValue(body, MyProfileResponse.class);
+        assertThat(myProfileResponse.getAddress()).isEqualTo("Seoul");
+    }
+
+    @Test
+    void Accept_가_없으면_JSON_으로_응답한다() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/users/" + writer.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new ObjectMapper().readTree(body).get("nickname").asText()).isEqualTo("writer");
+    }
+}
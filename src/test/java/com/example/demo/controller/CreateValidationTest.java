@@ -0,0 +1,56 @@
+package com.example.demo.controller;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * 하나씩 만들 때와 /batch 로 만들 때 같은 입력을 거절하는지 확인합니다.
+ */
+class CreateValidationTest extends IntegrationTest {
+
+    @Test
+    void 게시물은_한_건으로도_배치로도_같은_입력을_거절한다() throws Exception {
+        long writerId = activeUser().getId();
+
+        for (String body : new String[]{
+            "{\"writerId\":" + writerId + ",\"content\":\" \"}",
+            "{\"writerId\":" + writerId + "}",
+            "{\"writerId\":0,\"content\":\"content\"}"}) {
+            assertRejected("/api/posts", body);
+        }
+        mockMvc.perform(create("/api/posts", "{\"writerId\":" + writerId + ",\"content\":\"content\"}"))
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    void 유저는_한_건으로도_배치로도_같은_입력을_거절한다() throws Exception {
+        for (String body : new String[]{
+            "{\"email\":\"\",\"nickname\":\"writer\"}",
+            "{\"nickname\":\"writer\"}",
+            "{\"email\":\"not an email\",\"nickname\":\"writer\"}"}) {
+            assertRejected("/api/users", body);
+        }
+        mockMvc.perform(create("/api/users", "{\"email\":\"valid" + System.nanoTime() + "@example.com\",\"nickname\":\"writer\"}"))
+            .andExpect(status().isCreated());
+    }
+
+    private void assertRejected(String path, String body) throws Exception {
+        mockMvc.perform(create(path, body))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(create(path + "/batch", "[" + body + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value(400));
+    }
+
+    private static RequestBuilder create(String path, String body) {
+        return MockMvcRequestBuilders.post(path)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body);
+    }
+}
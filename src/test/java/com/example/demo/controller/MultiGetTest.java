@@ -0,0 +1,64 @@
+package com.example.demo.controller;
+
+import static com.example.demo.controller.StatementAssertions.assertStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:multi-get-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false",
+    "multi-get.max-ids=4"
+})
+class MultiGetTest extends IntegrationTest {
+
+    private UserEntity first;
+    private UserEntity second;
+
+    @BeforeEach
+    void setUp() {
+        first = activeUser("first");
+        second = activeUser("second");
+    }
+
+    @Test
+    void 게시물은_작성자와_함께_한_번의_쿼리로_요청한_순서대로_돌려준다() throws Exception {
+        PostEntity older = post(first.getId(), "content");
+        PostEntity newer = post(second.getId(), "content");
+        assertStatements(mockMvc.perform(get("/api/posts").param("ids", newer.getId() + "," + Long.MAX_VALUE + "," + older.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.posts.length()").value(2))
+            .andExpect(jsonPath("$.posts[0].id").value(newer.getId()))
+            .andExpect(jsonPath("$.posts[0].writer.nickname").value("second"))
+            .andExpect(jsonPath("$.posts[1].id").value(older.getId()))
+            .andExpect(jsonPath("$.missingIds[0]").value(Long.MAX_VALUE))
+            .andReturn())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void 유저는_요청한_순서대로_돌려주고_중복된_id_는_한_번만_담는다() throws Exception {
+        mockMvc.perform(get("/api/users").param("ids", second.getId() + "," + first.getId() + "," + second.getId() + ",0"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.users.length()").value(2))
+            .andExpect(jsonPath("$.users[0].id").value(second.getId()))
+            .andExpect(jsonPath("$.users[1].id").value(first.getId()))
+            .andExpect(jsonPath("$.missingIds.length()").value(1))
+            .andExpect(jsonPath("$.missingIds[0]").value(0));
+    }
+
+    @Test
+    void 최대_개수를_넘는_id_는_400_을_돌려준다() throws Exception {
+        mockMvc.perform(get("/api/users").param("ids", "1,2,3,4,5"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/posts").param("ids", "1,2,3,4,5"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+class PostExportTest extends IntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UserEntity writer;
+    private final List<PostEntity> posts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        writer = activeUser();
+        UserEntity otherWriter = activeUser();
+        posts.add(post(writer.getId(), "first"));
+        post(otherWriter.getId(), "other");
+        posts.add(post(writer.getId(), "second"));
+        posts.add(post(writer.getId(), "third"));
+    }
+
+    @Test
+    void 작성자의_게시물을_청크_경계와_상관없이_오래된_것부터_한_줄씩_내보낸다() throws Exception {
+        String body = mockMvc.perform(get("/api/posts/export").param("writerId", String.valueOf(writer.getId())))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = readLines(body);
+        assertThat(lines).extracting(line -> line.get("id").asLong())
+            .containsExactly(posts.get(0).getId(), posts.get(1).getId(), posts.get(2).getId());
+        assertThat(lines).extracting(line -> line.get("content").asText())
+            .containsExactly("first", "second", "third");
+        assertThat(lines).allSatisfy(line -> assertThat(line.get("writerId").asLong()).isEqualTo(writer.getId()));
+    }
+
+    @Test
+    void 작성자를_지정하지_않으면_모든_게시물을_내보낸다() throws Exception {
+        String body = mockMvc.perform(get("/api/posts/export"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        List<Long> ids = readLines(body).stream().map(line -> line.get("id").asLong()).toList();
+        assertThat(ids).containsAll(posts.stream().map(PostEntity::getId).toList());
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids).hasSizeGreaterThan(posts.size());
+    }
+
+    private List<JsonNode> readLines(String body) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.controller;
+
+import static com.example.demo.controller.StatementAssertions.assertStatements;
+import static com.example.demo.controller.StatementAssertions.statements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+class PostPageTest extends IntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void 페이지_크기와_상관없이_같은_수의_SQL_로_읽는다() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            long writerId = activeUser().getId();
+            post(writerId, "first" + i);
+            post(writerId, "second" + i);
+        }
+
+        MvcResult one = mockMvc.perform(get("/api/posts").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.posts.length()").value(1))
+            .andReturn();
+        MvcResult fifty = mockMvc.perform(get("/api/posts").param("limit", "50"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(page(fifty).get("posts").size()).isGreaterThanOrEqualTo(6);
+        assertStatements(fifty).isEqualTo(statements(one));
+    }
+
+    @Test
+    void 다음_커서로_이어_읽으면_빠지거나_겹치는_게시물_없이_최신순으로_끝까지_읽는다() throws Exception {
+        long writerId = activeUser().getId();
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(0, post(writerId, "post" + i).getId());
+        }
+
+        List<Long> read = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        String after = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/posts")
+                .param("writerId", String.valueOf(writerId))
+                .param("limit", "2");
+            if (after != null) {
+                request.param("after", after);
+            }
+            JsonNode page = page(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn());
+            page.get("posts").forEach(post -> read.add(post.get("id").asLong()));
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            cursors.add(after);
+        } while (after != null);
+
+        assertThat(read).containsExactlyElementsOf(created);
+        assertThat(cursors).hasSize(3).endsWith((String) null);
+    }
+
+    @Test
+    void 잘못된_커서는_400_을_돌려준다() throws Exception {
+        String withoutSeparator = Base64.getUrlEncoder().encodeToString("12345".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/api/posts").param("after", "not a cursor!"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/posts").param("after", withoutSeparator))
+            .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode page(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+}
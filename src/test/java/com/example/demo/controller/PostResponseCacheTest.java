@@ -0,0 +1,84 @@
+package com.example.demo.controller;
+
+import static com.example.demo.controller.StatementAssertions.assertStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.dto.PostUpdateDto;
+import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+class PostResponseCacheTest extends IntegrationTest {
+
+    private UserEntity writer;
+    private PostEntity post;
+
+    @BeforeEach
+    void setUp() {
+        writer = activeUser();
+        post = post(writer.getId(), "content");
+    }
+
+    @Test
+    void 두_번째_조회부터는_쿼리_없이_같은_본문과_ETag_를_돌려준다() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(status().isOk())
+            .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatements(mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(first.getResponse().getContentAsString()))
+            .andReturn())
+            .isZero();
+        assertStatements(mockMvc.perform(get("/api/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andReturn())
+            .isZero();
+    }
+
+    @Test
+    void 게시물이_수정되면_새_본문을_돌려준다() throws Exception {
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(jsonPath("$.content").value("content"));
+
+        postService.updatePost(post.getId(), PostUpdateDto.builder().content("updated").build());
+
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").value("updated"));
+    }
+
+    @Test
+    void 작성자가_바뀌면_새_본문을_돌려준다() throws Exception {
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(jsonPath("$.writer.nickname").value("writer"));
+
+        userService.updateUser(writer.getId(), UserUpdateDto.builder().nickname("renamed").address("Busan").build());
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(jsonPath("$.writer.nickname").value("renamed"));
+
+        userService.login(writer.getId());
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(jsonPath("$.writer.lastLoginAt").isNumber());
+    }
+
+    @Test
+    void JSON_이_아닌_형식은_캐시를_거치지_않는다() throws Exception {
+        mockMvc.perform(get("/api/posts/" + post.getId()).accept(MediaType.valueOf("application/cbor")))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.valueOf("application/cbor")));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.PostEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+class PostUpdateTest extends IntegrationTest {
+
+    private PostEntity post;
+
+    @BeforeEach
+    void setUp() {
+        post = post(verifiedUser("writer").getId(), "content");
+    }
+
+    @Test
+    void If_Match_가_현재_버전이면_수정하고_새_ETag_를_돌려준다() throws Exception {
+        String eTag = eTag();
+
+        String newETag = mockMvc.perform(update(eTag, "updated"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content").value("updated"))
+            .andExpect(jsonPath("$.createdAt").value(post.getCreatedAt()))
+            .andExpect(jsonPath("$.writer.id").value(post.getWriter().getId()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/posts/" + post.getId()).header(HttpHeaders.IF_NONE_MATCH, newETag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void 낡은_If_Match_로는_덮어쓰지_않고_412_를_돌려준다() throws Exception {
+        String eTag = eTag();
+        mockMvc.perform(update(eTag, "first"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(update(eTag, "second"))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(jsonPath("$.content").value("first"));
+    }
+
+    @Test
+    void If_Match_가_없으면_현재_버전을_읽어서_수정한다() throws Exception {
+        String eTag = eTag();
+
+        mockMvc.perform(put("/api/posts/" + post.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"updated\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+
+        mockMvc.perform(update(eTag, "stale"))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void 형식이_맞지_않는_If_Match_는_412_를_돌려준다() throws Exception {
+        String eTag = eTag();
+
+        for (String ifMatch : new String[]{"not an etag", "W/" + eTag, "\"zz\"", eTag.replace("\"", "") + ".1",
+            eTag + ", " + eTag, eTag.substring(0, eTag.length() - 1) + ".x\""}) {
+            mockMvc.perform(update(ifMatch, "malformed"))
+                .andExpect(status().isPreconditionFailed());
+        }
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andExpect(jsonPath("$.content").value("content"));
+    }
+
+    @Test
+    void 작성자_정보만_바뀐_ETag_로는_수정할_수_있다() throws Exception {
+        String eTag = eTag();
+        userService.updateUser(post.getWriter().getId(), UserUpdateDto.builder().nickname("renamed").address("Busan").build());
+        assertThat(eTag()).isNotEqualTo(eTag);
+
+        mockMvc.perform(update(eTag, "updated"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.writer.nickname").value("renamed"));
+    }
+
+    private RequestBuilder update(String ifMatch, String content) {
+        return put("/api/posts/" + post.getId())
+            .header(HttpHeaders.IF_MATCH, ifMatch)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"content\":\"" + content + "\"}");
+    }
+
+    private String eTag() throws Exception {
+        return mockMvc.perform(get("/api/posts/" + post.getId()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+}
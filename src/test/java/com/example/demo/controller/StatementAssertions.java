@@ -0,0 +1,25 @@
+package com.example.demo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.assertj.core.api.AbstractIntegerAssert;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * {@link StatementBudgetFilter} 가 센 요청의 SQL 문 수를 확인합니다.
+ * <pre>assertStatements(mockMvc.perform(get("/api/posts/{id}", id)).andReturn()).isLessThanOrEqualTo(1);</pre>
+ */
+final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    static AbstractIntegerAssert<?> assertStatements(MvcResult result) {
+        return assertThat(statements(result))
+            .as("%s %s 의 SQL 문 수", result.getRequest().getMethod(), result.getRequest().getRequestURI());
+    }
+
+    static Integer statements(MvcResult result) {
+        return (Integer) result.getRequest().getAttribute(StatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.controller;
+
+import static com.example.demo.controller.StatementAssertions.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.repository.PostEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:statement-budget-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false",
+    "app.statements.fail-on-budget-exceeded=true",
+    "app.statements.budgets.post-summary.method=GET",
+    "app.statements.budgets.post-summary.path=/api/posts/{id}/summary",
+    "app.statements.budgets.post-summary.max-statements=0",
+    "post.export.chunk-size=2"
+})
+class StatementBudgetTest extends IntegrationTest {
+
+    @Test
+    void 게시물_하나는_버전과_작성자를_join_한_본문만_읽고_응답_캐시에_담긴_뒤에는_버전만_읽는다() throws Exception {
+        PostEntity post = post(activeUser().getId(), "hello");
+
+        assertStatements(mockMvc.perform(get("/api/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andReturn())
+            .isLessThanOrEqualTo(2);
+        assertStatements(mockMvc.perform(get("/api/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andReturn())
+            .isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void 목록은_게시물_수와_상관없이_작성자를_join_해서_SQL_한_번으로_읽는다() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            post(activeUser().getId(), "post" + i);
+        }
+
+        assertStatements(mockMvc.perform(get("/api/posts").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.posts.length()").value(5))
+            .andReturn())
+            .isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void 예산을_넘는_요청은_넘는_SQL_을_실행하지_않고_실패한다() throws Exception {
+        PostEntity post = post(activeUser().getId(), "hello");
+
+        assertStatements(mockMvc.perform(get("/api/posts/{id}/summary", post.getId()))
+            .andExpect(status().isInternalServerError())
+            .andExpect(content().string("GET /api/posts/{id}/summary 요청이 SQL 문 예산 0개를 넘었습니다."))
+            .andReturn())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void 경로_패턴이_다른_내보내기는_게시물_하나의_예산을_받지_않고_세지도_않는다() throws Exception {
+        long writerId = activeUser().getId();
+        for (int i = 0; i < 7; i++) {
+            post(writerId, "post" + i);
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/posts/export").param("writerId", String.valueOf(writerId)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentAsString().lines()).hasSize(7);
+        assertThat(result.getRequest().getAttribute(StatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE)).isNull();
+    }
+}
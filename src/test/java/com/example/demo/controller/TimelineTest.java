@@ -0,0 +1,65 @@
+package com.example.demo.controller;
+
+import static com.example.demo.controller.StatementAssertions.assertStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.UserEntity;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:timeline-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false",
+    "post.timeline.capacity=3"
+})
+class TimelineTest extends IntegrationTest {
+
+    private UserEntity writer;
+    private final List<PostEntity> posts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        writer = activeUser();
+        posts.add(post("first"));
+    }
+
+    @Test
+    void 링에_담긴_글은_id_조회_없이_게시물만_한_번에_읽는다() throws Exception {
+        mockMvc.perform(get("/api/posts/timeline").param("writerId", writer.getId().toString()))
+            .andExpect(jsonPath("$.posts.length()").value(1));
+        posts.add(post("second"));
+
+        assertStatements(mockMvc.perform(get("/api/posts/timeline").param("writerId", writer.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.posts[0].content").value("second"))
+            .andExpect(jsonPath("$.posts[1].content").value("first"))
+            .andReturn())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void 링보다_많이_요청하면_DB_에서_읽는다() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            posts.add(post("post" + i));
+        }
+
+        mockMvc.perform(get("/api/posts/timeline")
+                .param("writerId", writer.getId().toString())
+                .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.posts.length()").value(5))
+            .andExpect(jsonPath("$.posts[0].content").value("post3"))
+            .andExpect(jsonPath("$.posts[4].content").value("first"));
+    }
+
+    private PostEntity post(String content) {
+        return post(writer.getId(), content);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.IntegrationTest;
+import com.example.demo.config.RequestStatements;
+import com.example.demo.config.StatementProperties;
+import com.example.demo.model.UserStatus;
+import com.example.demo.model.dto.UserUpdateDto;
+import com.example.demo.repository.UserRepository;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LastLoginBufferTest extends IntegrationTest {
+
+    private static final String DRAIN_URL = "jdbc:h2:mem:last-login-drain-test;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void 여러_번의_로그인을_배치_UPDATE_한_번으로_반영하고_더_최근_시각을_덮어쓰지_않는다() {
+        long first = activeUser().getId();
+        long second = activeUser().getId();
+        jdbcTemplate.update("update users set last_login_at = ? where id = ?", 5_000L, second);
+        lastLoginBuffer.record(first, 1_000L);
+        lastLoginBuffer.record(first, 3_000L);
+        lastLoginBuffer.record(first, 2_000L);
+        lastLoginBuffer.record(second, 4_000L);
+
+        RequestStatements statements = RequestStatements.begin("flush", new StatementProperties());
+        try {
+            lastLoginBuffer.flush();
+        } finally {
+            RequestStatements.end();
+        }
+
+        assertThat(statements.getCount()).isEqualTo(1);
+        assertThat(lastLoginAt(first)).isEqualTo(3_000L);
+        assertThat(lastLoginAt(second)).isEqualTo(5_000L);
+        assertThat(lastLoginBuffer.get(first)).isNull();
+        assertThat(lastLoginBuffer.get(second)).isNull();
+    }
+
+    /**
+     * 바깥 트랜잭션이 먼저 유저를 읽어 두었으므로 updateUser 는 반영 전의 엔티티를 저장합니다.
+     */
+    @Test
+    void 유저를_읽고_저장하는_사이에_반영한_로그인_시각을_되돌리지_않는다() {
+        long userId = activeUser().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(userRepository.findByIdAndStatus(userId, UserStatus.ACTIVE).orElseThrow().getLastLoginAt()).isNull();
+            lastLoginBuffer.record(userId, 9_000L);
+            CompletableFuture.runAsync(lastLoginBuffer::flush).join();
+            userService.updateUser(userId, UserUpdateDto.builder().nickname("renamed").address("Busan").build());
+        });
+
+        assertThat(lastLoginAt(userId)).isEqualTo(9_000L);
+        assertThat(userService.getByIdOrElseThrow(userId).getNickname()).isEqualTo("renamed");
+    }
+
+    /**
+     * 닫은 뒤에 DB 를 확인해야 하므로, 함께 쓰는 컨텍스트가 아니라 이 테스트가 직접 띄운 컨텍스트를 닫습니다.
+     */
+    @Test
+    void 컨텍스트를_닫을_때_남은_로그인을_반영한다() throws SQLException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+            .web(WebApplicationType.NONE)
+            .run("--spring.datasource.url=" + DRAIN_URL, "--app.scheduling.enabled=false");
+        long userId;
+        try {
+            userId = verifiedUser(context.getBean(UserService.class), "writer").getId();
+            context.getBean(LastLoginBuffer.class).record(userId, 7_000L);
+        } finally {
+            context.close();
+        }
+
+        try (Connection connection = DriverManager.getConnection(DRAIN_URL, "sa", "");
+             PreparedStatement statement = connection.prepareStatement("select last_login_at from users where id = ?")) {
+            statement.setLong(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                assertThat(resultSet.getLong(1)).isEqualTo(7_000L);
+            }
+        }
+    }
+
+    private Long lastLoginAt(long userId) {
+        return jdbcTemplate.queryForObject("select last_login_at from users where id = ?", Long.class, userId);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.example.demo.model.MailOutboxStatus;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.MailOutboxEntity;
+import com.example.demo.repository.MailOutboxRepository;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:mail-outbox-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false",
+    "spring.mail.host=127.0.0.1",
+    "spring.mail.port=3025",
+    "spring.mail.username=test",
+    "spring.mail.password=test",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.starttls.enable=false",
+    "spring.mail.properties.mail.smtp.connectiontimeout=1000",
+    "mail.outbox.initial-backoff-ms=200",
+    "mail.outbox.max-attempts=2"
+})
+class MailOutboxDispatcherTest {
+
+    private GreenMail greenMail;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxRepository.deleteAll();
+        startSmtpServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        greenMail.stop();
+    }
+
+    @Test
+    void 가입하면_아웃박스에만_기록되고_디스패처가_발송한다() throws Exception {
+        long sentBefore = sendCount("success");
+        userService.createUser(userCreateDto("sent@example.com"));
+
+        assertThat(outbox().getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        mailOutboxDispatcher.dispatch();
+
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> outbox().getStatus() == MailOutboxStatus.SENT);
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(1);
+        assertThat(receivedMessages[0].getAllRecipients()[0].toString()).isEqualTo("sent@example.com");
+        assertThat(outbox().getSentAt()).isNotNull();
+        assertThat(sendCount("success")).isEqualTo(sentBefore + 1);
+    }
+
+    @Test
+    void SMTP_가_실패하면_다시_시도해서_발송한다() {
+        greenMail.stop();
+        double failuresBefore = meterRegistry.counter(MailOutboxDispatcher.MAIL_SEND_FAILURES).count();
+        userService.createUser(userCreateDto("retry@example.com"));
+
+        mailOutboxDispatcher.dispatch();
+
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> outbox().getAttempts() == 1);
+        assertThat(outbox().getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(outbox().getLastError()).isNotNull();
+        assertThat(meterRegistry.counter(MailOutboxDispatcher.MAIL_SEND_FAILURES).count())
+            .isEqualTo(failuresBefore + 1);
+        assertThat(sendCount("failure")).isPositive();
+
+        startSmtpServer();
+
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> dispatchUntil(MailOutboxStatus.SENT));
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void 최대_시도_횟수를_넘기면_FAILED_로_남긴다() {
+        greenMail.stop();
+        userService.createUser(userCreateDto("failed@example.com"));
+
+        mailOutboxDispatcher.dispatch();
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> outbox().getAttempts() == 1);
+        await().atMost(Duration.ofSeconds(10))
+            .until(() -> dispatchUntil(MailOutboxStatus.FAILED));
+
+        assertThat(outbox().getAttempts()).isEqualTo(2);
+        mailOutboxDispatcher.dispatch();
+        assertThat(outbox().getAttempts()).isEqualTo(2);
+    }
+
+    /**
+     * 재시도는 backoff 이후에만 선점되므로, 원하는 상태가 될 때까지 폴링을 흉내 내어 반복해서 발송합니다.
+     */
+    private boolean dispatchUntil(MailOutboxStatus status) {
+        if (outbox().getStatus() == status) {
+            return true;
+        }
+        mailOutboxDispatcher.dispatch();
+        return false;
+    }
+
+    private void startSmtpServer() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test", "test"));
+        greenMail.start();
+    }
+
+    private long sendCount(String outcome) {
+        return meterRegistry.timer(MailOutboxDispatcher.MAIL_SEND_TIMER, "outcome", outcome).count();
+    }
+
+    private MailOutboxEntity outbox() {
+        return mailOutboxRepository.findAll().get(0);
+    }
+
+    private UserCreateDto userCreateDto(String email) {
+        return UserCreateDto.builder()
+            .email(email)
+            .nickname("tester")
+            .address("Seoul")
+            .build();
+    }
+}
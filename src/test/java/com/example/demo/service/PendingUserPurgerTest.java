@@ -0,0 +1,99 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.model.UserStatus;
+import com.example.demo.model.dto.UserCreateDto;
+import com.example.demo.repository.PendingUserEntity;
+import com.example.demo.repository.PendingUserRepository;
+import com.example.demo.repository.UserRepository;
+import java.time.Clock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:pending-user-test;DB_CLOSE_ON_EXIT=FALSE",
+    "app.scheduling.enabled=false",
+    "user.pending.purge-batch-size=2",
+    "user.pending.purge-max-batches=2"
+})
+class PendingUserPurgerTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PendingUserPurger pendingUserPurger;
+
+    @Autowired
+    private PendingUserRepository pendingUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        pendingUserRepository.deleteAll();
+    }
+
+    @Test
+    void 가입하면_users_가_아니라_가입_신청으로_저장된다() {
+        PendingUserEntity pendingUser = userService.createUser(userCreateDto("pending@example.com"));
+
+        assertThat(pendingUserRepository.findById(pendingUser.getId())).isPresent();
+        assertThat(userRepository.findById(pendingUser.getId())).isEmpty();
+    }
+
+    @Test
+    void 인증하면_같은_id_의_ACTIVE_유저로_옮기고_다시_인증해도_그대로다() {
+        PendingUserEntity pendingUser = userService.createUser(userCreateDto("verified@example.com"));
+
+        userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+        userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode());
+
+        assertThat(pendingUserRepository.findById(pendingUser.getId())).isEmpty();
+        assertThat(userService.getByIdOrElseThrow(pendingUser.getId()).getStatus()).isEqualTo(UserStatus.ACTIVE);
+        assertThat(userService.getByEmail("verified@example.com").getId()).isEqualTo(pendingUser.getId());
+    }
+
+    @Test
+    void 만료된_가입_신청은_인증할_수_없다() {
+        PendingUserEntity pendingUser = expire(userService.createUser(userCreateDto("expired@example.com")));
+
+        assertThatThrownBy(() -> userService.verifyEmail(pendingUser.getId(), pendingUser.getCertificationCode()))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(userRepository.findById(pendingUser.getId())).isEmpty();
+    }
+
+    @Test
+    void 만료된_가입_신청만_배치_수_상한까지_지운다() {
+        for (int i = 0; i < 5; i++) {
+            expire(userService.createUser(userCreateDto("expired" + i + "@example.com")));
+        }
+        PendingUserEntity live = userService.createUser(userCreateDto("live@example.com"));
+
+        assertThat(pendingUserPurger.purge()).isEqualTo(4);
+        assertThat(pendingUserPurger.purge()).isEqualTo(1);
+        assertThat(pendingUserPurger.purge()).isZero();
+        assertThat(pendingUserRepository.findAll())
+            .extracting(PendingUserEntity::getId)
+            .containsExactly(live.getId());
+    }
+
+    private PendingUserEntity expire(PendingUserEntity pendingUser) {
+        pendingUser.setExpiresAt(Clock.systemUTC().millis() - 1);
+        return pendingUserRepository.save(pendingUser);
+    }
+
+    private static UserCreateDto userCreateDto(String email) {
+        return UserCreateDto.builder()
+            .email(email)
+            .nickname("pending")
+            .address("Seoul")
+            .build();
+    }
+}
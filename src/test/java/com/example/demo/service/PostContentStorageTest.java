@@ -0,0 +1,114 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.demo.IntegrationTest;
+import com.example.demo.model.PostSummary;
+import com.example.demo.model.dto.PostUpdateDto;
+import com.example.demo.repository.CompressedTextConverter;
+import com.example.demo.repository.PostEntity;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.repository.UserEntity;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+class PostContentStorageTest extends IntegrationTest {
+
+    private static final String LONG_CONTENT = "오늘 점심은 학교 앞 국밥집에서 먹었습니다. ".repeat(50);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = activeUser();
+    }
+
+    @Test
+    void 긴_본문은_압축해서_저장하고_읽을_때_그대로_푼다() {
+        PostEntity post = post(writer.getId(), LONG_CONTENT);
+
+        byte[] stored = storedContent(post.getId());
+        assertThat(stored[0]).isEqualTo(CompressedTextConverter.LZ4);
+        assertThat(stored.length).isLessThan(LONG_CONTENT.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(postService.getPostById(post.getId()).getContent()).isEqualTo(LONG_CONTENT);
+    }
+
+    @Test
+    void 짧은_본문과_수정한_본문도_그대로_읽는다() {
+        PostEntity post = post(writer.getId(), "short");
+        assertThat(storedContent(post.getId())[0]).isEqualTo(CompressedTextConverter.RAW);
+
+        postService.updatePost(post.getId(), PostUpdateDto.builder().content(LONG_CONTENT + "!").build());
+
+        assertThat(storedContent(post.getId())[0]).isEqualTo(CompressedTextConverter.LZ4);
+        assertThat(postService.getPostById(post.getId()).getContent()).isEqualTo(LONG_CONTENT + "!");
+    }
+
+    @Test
+    void 본문이_필요_없는_조회는_본문을_읽지_않는다() {
+        PostEntity post = post(writer.getId(), LONG_CONTENT);
+
+        PostEntity withoutContent = postRepository.findById(post.getId()).orElseThrow();
+        PostEntity withContent = postRepository.findWithContentById(post.getId()).orElseThrow();
+        PostSummary postSummary = postService.getPostSummary(post.getId());
+
+        assertThat(Hibernate.isPropertyInitialized(withoutContent, "content")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(withContent, "content")).isTrue();
+        assertThat(postSummary.getWriterId()).isEqualTo(writer.getId());
+        assertThat(postSummary.getCreatedAt()).isEqualTo(post.getCreatedAt());
+    }
+
+    @Test
+    void 압축되지_않는_가장_긴_본문도_저장한다() {
+        Random random = new Random(0);
+        StringBuilder content = new StringBuilder(PostEntity.MAX_CONTENT_LENGTH);
+        while (content.length() < PostEntity.MAX_CONTENT_LENGTH) {
+            content.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+
+        PostEntity post = post(writer.getId(), content.toString());
+
+        assertThat(storedContent(post.getId())).hasSizeLessThanOrEqualTo(PostEntity.MAX_CONTENT_BYTES);
+        assertThat(postService.getPostById(post.getId()).getContent()).isEqualTo(content.toString());
+    }
+
+    @Test
+    void 너무_긴_본문은_만들거나_수정할_때_400_을_돌려준다() throws Exception {
+        long postId = post(writer.getId(), "short").getId();
+        String tooLong = "a".repeat(PostEntity.MAX_CONTENT_LENGTH + 1);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"writerId\":" + writer.getId() + ",\"content\":\"" + tooLong + "\"}"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/posts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"writerId\":" + writer.getId() + ",\"content\":\"" + tooLong + "\"}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value(400));
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/posts/" + postId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"" + tooLong + "\"}"))
+            .andExpect(status().isBadRequest());
+        assertThat(postService.getPostById(postId).getContent()).isEqualTo("short");
+    }
+
+    private byte[] storedContent(long postId) {
+        return jdbcTemplate.queryForObject("select content from posts where id = ?", byte[].class, postId);
+    }
+}
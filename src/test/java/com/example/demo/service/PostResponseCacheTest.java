@@ -0,0 +1,73 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class PostResponseCacheTest {
+
+    private final PostResponseCache postResponseCache =
+        new PostResponseCache(1024 * 1024, Duration.ofMinutes(5), Duration.ZERO);
+
+    @Test
+    void 만든_뒤에_바뀐_게시물이나_작성자가_없으면_담긴_바이트를_돌려준다() {
+        long buildStartedAt = postResponseCache.startBuild();
+        postResponseCache.put(1L, 10L, buildStartedAt, "\"1\"", 0L, json("post"));
+
+        assertThat(postResponseCache.get(1L).getJson()).isEqualTo(json("post"));
+        assertThat(postResponseCache.hitCount()).isEqualTo(1);
+        postResponseCache.cleanUp();
+        assertThat(postResponseCache.bytes()).isGreaterThan(json("post").length);
+    }
+
+    @Test
+    void 게시물이_바뀌면_버린다() {
+        postResponseCache.put(1L, 10L, postResponseCache.startBuild(), "\"1\"", 0L, json("post"));
+
+        postResponseCache.invalidatePost(1L);
+
+        assertThat(postResponseCache.get(1L)).isNull();
+        assertThat(postResponseCache.size()).isZero();
+    }
+
+    @Test
+    void 작성자가_바뀌면_그_작성자의_게시물만_버린다() {
+        long buildStartedAt = postResponseCache.startBuild();
+        postResponseCache.put(1L, 10L, buildStartedAt, "\"1\"", 0L, json("post1"));
+        postResponseCache.put(2L, 20L, buildStartedAt, "\"2\"", 0L, json("post2"));
+
+        postResponseCache.invalidateWriter(10L);
+
+        assertThat(postResponseCache.get(1L)).isNull();
+        assertThat(postResponseCache.get(2L)).isNotNull();
+    }
+
+    @Test
+    void 만드는_중에_바뀌었다면_담지_않는다() {
+        long buildStartedAt = postResponseCache.startBuild();
+        postResponseCache.invalidateWriter(10L);
+
+        postResponseCache.put(1L, 10L, buildStartedAt, "\"1\"", 0L, json("post"));
+
+        assertThat(postResponseCache.get(1L)).isNull();
+    }
+
+    @Test
+    void 바이트_한도를_넘으면_내보낸다() {
+        PostResponseCache small = new PostResponseCache(4 * 1024, Duration.ofMinutes(5), Duration.ZERO);
+        byte[] json = new byte[1024];
+        for (long postId = 1; postId <= 10; postId++) {
+            small.put(postId, 10L, small.startBuild(), "\"1\"", 0L, json);
+        }
+        small.cleanUp();
+
+        assertThat(small.bytes()).isLessThanOrEqualTo(4 * 1024);
+        assertThat(small.evictionCount()).isPositive();
+    }
+
+    private static byte[] json(String content) {
+        return ("{\"content\":\"" + content + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PostSearchIndexTest {
+
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex();
+
+    @Test
+    void 검색어를_더_많이_포함한_게시물이_먼저_나온다() {
+        postSearchIndex.index(1L, "spring boot");
+        postSearchIndex.index(2L, "spring boot spring jpa");
+        postSearchIndex.index(3L, "hibernate");
+
+        PostSearchIndex.SearchHits searchHits = postSearchIndex.search("Spring JPA", 10);
+
+        assertThat(searchHits.getPostIds()).containsExactly(2L, 1L);
+        assertThat(searchHits.getTotalHits()).isEqualTo(2);
+    }
+
+    @Test
+    void 상위_k_개만_돌려주고_전체_건수는_따로_센다() {
+        for (long id = 1; id <= 50; id++) {
+            postSearchIndex.index(id, "게시물 " + id);
+        }
+
+        PostSearchIndex.SearchHits searchHits = postSearchIndex.search("게시물", 5);
+
+        assertThat(searchHits.getPostIds()).hasSize(5);
+        assertThat(searchHits.getTotalHits()).isEqualTo(50);
+    }
+
+    @Test
+    void 수정된_게시물은_이전_내용으로_검색되지_않는다() {
+        postSearchIndex.index(1L, "before");
+        postSearchIndex.index(1L, "after");
+
+        assertThat(postSearchIndex.search("before", 10).getPostIds()).isEmpty();
+        assertThat(postSearchIndex.search("after", 10).getPostIds()).containsExactly(1L);
+        assertThat(postSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 압축한_뒤에도_같은_결과를_돌려준다() {
+        postSearchIndex.index(1L, "stable content");
+        for (int i = 0; i < 3000; i++) {
+            postSearchIndex.index(2L, "revision " + i);
+        }
+
+        assertThat(postSearchIndex.search("revision", 10).getPostIds()).containsExactly(2L);
+        assertThat(postSearchIndex.search("2999", 10).getPostIds()).containsExactly(2L);
+        assertThat(postSearchIndex.search("stable", 10).getPostIds()).containsExactly(1L);
+        assertThat(postSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    void 다시_만들면_이전_색인은_사라진다() {
+        postSearchIndex.index(1L, "old");
+
+        postSearchIndex.rebuild(sink -> sink.accept(2L, "new"));
+
+        assertThat(postSearchIndex.search("old", 10).getPostIds()).isEmpty();
+        assertThat(postSearchIndex.search("new", 10).getPostIds()).containsExactly(2L);
+    }
+}
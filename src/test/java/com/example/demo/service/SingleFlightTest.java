@@ -0,0 +1,122 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.demo.exception.ResourceNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("test");
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 동시에_같은_키를_읽으면_한_번만_읽고_결과를_나눠_받는다() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            await(release);
+            return "post";
+        });
+        awaitJoins(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.coalescingRatio()).isEqualTo((double) (CALLERS - 1) / CALLERS);
+    }
+
+    @Test
+    void 읽다가_던진_예외는_합류한_호출도_그대로_받는다() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ResourceNotFoundException notFound = new ResourceNotFoundException("Posts", 1L);
+
+        List<Future<String>> results = callConcurrently(() -> {
+            await(release);
+            throw notFound;
+        });
+        awaitJoins(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(notFound);
+        }
+        // 실패한 읽기는 남지 않으므로 다음 호출은 새로 읽는다.
+        assertThat(singleFlight.load(1L, () -> "retried")).isEqualTo("retried");
+    }
+
+    @Test
+    void 쓰기_뒤에_온_호출은_쓰기_전에_시작한_읽기에_합류하지_않는다() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> before = executor.submit(() -> singleFlight.load(1L, () -> {
+            await(release);
+            return "old";
+        }));
+        awaitLoads(1);
+
+        singleFlight.forget(1L);
+        String after = singleFlight.load(1L, () -> "new");
+        release.countDown();
+
+        assertThat(after).isEqualTo("new");
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(singleFlight.joinCount()).isZero();
+    }
+
+    private List<Future<String>> callConcurrently(Supplier<String> loader) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.load(1L, loader)));
+        // 첫 호출이 읽기를 시작한 뒤에 나머지를 보내야 모두 그 읽기에 합류한다.
+        awaitLoads(1);
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.load(1L, loader)));
+        }
+        return results;
+    }
+
+    private void awaitLoads(long loads) throws InterruptedException {
+        while (singleFlight.loadCount() < loads) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitJoins(long joins) throws InterruptedException {
+        while (singleFlight.joinCount() < joins) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burst_만큼은_바로_허용하고_그_다음은_기다릴_시간을_알려준다() {
+        TokenBucket tokenBucket = new TokenBucket(1, 3, 0);
+
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        assertThat(tokenBucket.tryAcquire(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void 시간이_지나면_rate_만큼_다시_채워진다() {
+        TokenBucket tokenBucket = new TokenBucket(2, 1, 0);
+
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        assertThat(tokenBucket.tryAcquire(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(tokenBucket.tryAcquire(SECOND / 2)).isZero();
+    }
+
+    @Test
+    void 돌려받은_토큰은_다시_쓸_수_있다() {
+        TokenBucket tokenBucket = new TokenBucket(1, 1, 0);
+
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+        tokenBucket.refund();
+
+        assertThat(tokenBucket.tryAcquire(0)).isZero();
+    }
+}
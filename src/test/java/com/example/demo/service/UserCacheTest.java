@@ -0,0 +1,127 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.demo.config.UserCacheProperties;
+import com.example.demo.model.UserStatus;
+import com.example.demo.repository.UserEntity;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class UserCacheTest {
+
+    private final UserCache userCache = new UserCache(new UserCacheProperties(), new SingleFlight<>("users"));
+
+    @Test
+    void 한번_읽은_유저는_id_와_email_모두_캐시에서_돌려준다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.getById(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(user(1L, "a@example.com", UserStatus.ACTIVE));
+        });
+        userCache.getById(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<UserEntity> byEmail = userCache.getByEmail("a@example.com", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(byEmail).isPresent();
+        assertThat(userCache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void 캐시에는_읽어_온_엔티티가_아닌_복사본이_들어간다() {
+        UserEntity loaded = user(1L, "a@example.com", UserStatus.ACTIVE);
+        userCache.getById(1L, () -> Optional.of(loaded));
+
+        loaded.setNickname("uncommitted");
+
+        assertThat(userCache.getById(1L, Optional::empty).get().getNickname()).isEqualTo("nickname");
+    }
+
+    @Test
+    void ACTIVE_가_아닌_유저는_캐시하지_않는다() {
+        userCache.getById(1L, () -> Optional.of(user(1L, "a@example.com", UserStatus.PENDING)));
+
+        assertThat(userCache.getById(1L, Optional::empty)).isEmpty();
+    }
+
+    @Test
+    void 읽는_도중_같은_유저가_무효화되면_읽은_값을_캐시하지_않는다() {
+        userCache.getById(1L, () -> {
+            userCache.evict(1L);
+            return Optional.of(user(1L, "a@example.com", UserStatus.ACTIVE));
+        });
+
+        assertThat(userCache.getById(1L, Optional::empty)).isEmpty();
+    }
+
+    @Test
+    void 다른_유저의_무효화는_읽고_있는_유저에_영향을_주지_않는다() {
+        userCache.getById(1L, () -> {
+            userCache.evict(2L);
+            return Optional.of(user(1L, "a@example.com", UserStatus.ACTIVE));
+        });
+
+        assertThat(userCache.getById(1L, Optional::empty)).isPresent();
+    }
+
+    @Test
+    void 무효화_직후_허용_지연_안에_읽은_값은_캐시하지_않는다() {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setStaleReadWindow(Duration.ofMinutes(1));
+        UserCache replicaBackedCache = new UserCache(properties, new SingleFlight<>("users"));
+        replicaBackedCache.evict(1L);
+
+        replicaBackedCache.getById(1L, () -> Optional.of(user(1L, "a@example.com", UserStatus.ACTIVE)));
+
+        assertThat(replicaBackedCache.getById(1L, Optional::empty)).isEmpty();
+    }
+
+    @Test
+    void 여러_유저를_읽을_때는_캐시에_없는_유저만_읽는다() {
+        userCache.getById(1L, () -> Optional.of(user(1L, "a@example.com", UserStatus.ACTIVE)));
+        List<Collection<Long>> loads = new ArrayList<>();
+
+        Map<Long, UserEntity> found = userCache.getAllById(List.of(1L, 2L, 3L), misses -> {
+            loads.add(misses);
+            return List.of(user(2L, "b@example.com", UserStatus.ACTIVE), user(3L, "c@example.com", UserStatus.PENDING));
+        });
+
+        assertThat(loads).containsExactly(List.of(2L, 3L));
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(userCache.getById(2L, Optional::empty)).isPresent();
+    }
+
+    @Test
+    void 로그인_시각_갱신은_캐시를_비우지_않고_복사본을_교체한다() {
+        UserEntity cached = userCache.getById(1L, () -> Optional.of(user(1L, "a@example.com", UserStatus.ACTIVE))).get();
+        cached = userCache.getById(1L, Optional::empty).get();
+
+        userCache.updateLastLoginAt(1L, 100L);
+
+        assertThat(cached.getLastLoginAt()).isNull();
+        assertThat(userCache.getById(1L, Optional::empty).get().getLastLoginAt()).isEqualTo(100L);
+        assertThat(userCache.stats().evictionCount()).isZero();
+    }
+
+    private UserEntity user(long id, String email, UserStatus status) {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(id);
+        userEntity.setEmail(email);
+        userEntity.setNickname("nickname");
+        userEntity.setStatus(status);
+        return userEntity;
+    }
+}
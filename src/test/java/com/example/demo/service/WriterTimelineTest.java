@@ -0,0 +1,64 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class WriterTimelineTest {
+
+    private final WriterTimeline writerTimeline = new WriterTimeline(4, 100);
+
+    @Test
+    void 처음_읽을_때만_DB_에서_채우고_이후_글은_링에_붙인다() {
+        AtomicInteger loads = new AtomicInteger();
+
+        writerTimeline.recent(1L, 2, capacity -> {
+            loads.incrementAndGet();
+            return List.of(2L, 1L);
+        });
+        writerTimeline.append(1L, 3L);
+
+        assertThat(writerTimeline.recent(1L, 10, capacity -> List.of())).containsExactly(3L, 2L, 1L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void 링이_없는_작성자에게는_붙이지_않는다() {
+        writerTimeline.append(1L, 3L);
+
+        assertThat(writerTimeline.size()).isZero();
+    }
+
+    @Test
+    void 링이_가득_차면_가장_오래된_글을_밀어내고_그보다_많이_요청하면_null_을_돌려준다() {
+        writerTimeline.recent(1L, 1, capacity -> List.of(4L, 3L, 2L, 1L));
+        writerTimeline.append(1L, 5L);
+
+        assertThat(writerTimeline.recent(1L, 4, capacity -> List.of())).containsExactly(5L, 4L, 3L, 2L);
+        assertThat(writerTimeline.recent(1L, 5, capacity -> List.of())).isNull();
+    }
+
+    @Test
+    void 늦게_커밋된_글은_id_순서에_맞게_끼워_넣고_중복은_무시한다() {
+        writerTimeline.recent(1L, 1, capacity -> List.of(5L, 2L));
+        writerTimeline.append(1L, 3L);
+        writerTimeline.append(1L, 5L);
+
+        assertThat(writerTimeline.recent(1L, 10, capacity -> List.of())).containsExactly(5L, 3L, 2L);
+    }
+
+    @Test
+    void 링은_필요한_만큼만_늘리고_capacity_를_넘지_않는다() {
+        WriterTimeline timeline = new WriterTimeline(32, 100);
+        timeline.recent(1L, 1, capacity -> List.of());
+        long empty = timeline.estimatedBytes();
+        for (long postId = 1; postId <= 100; postId++) {
+            timeline.append(1L, postId);
+        }
+
+        assertThat(timeline.estimatedBytes() - empty).isEqualTo(8L * (32 - 4));
+        assertThat(timeline.recent(1L, 32, capacity -> List.of())).hasSize(32).startsWith(100L);
+    }
+}